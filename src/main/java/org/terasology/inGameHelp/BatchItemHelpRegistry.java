@@ -0,0 +1,26 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.inGameHelp;
+
+import org.terasology.engine.entitySystem.prefab.Prefab;
+import org.terasology.inGameHelpAPI.components.HelpItem;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Registers many prefabs for the items help category at once.
+ * <p>
+ * Registering prefabs one by one with {@link org.terasology.inGameHelpAPI.ItemsCategoryInGameHelpRegistry#addKnownPrefab}
+ * updates the help categories after every call. A batch updates them once for all prefabs.
+ */
+public interface BatchItemHelpRegistry {
+
+    /**
+     * Adds prefabs and the help items associated with them. Help items already registered for a prefab are kept,
+     * duplicates are ignored.
+     *
+     * @param helpItemsByPrefab the help items to add per prefab; a prefab may map to no help items.
+     */
+    void addKnownPrefabs(Map<Prefab, ? extends Collection<HelpItem>> helpItemsByPrefab);
+}
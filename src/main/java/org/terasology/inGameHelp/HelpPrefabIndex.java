@@ -0,0 +1,99 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.inGameHelp;
+
+import org.terasology.engine.entitySystem.prefab.Prefab;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Index of all prefabs that contribute to the in-game help.
+ * <p>
+ * The index is built once, from the loaded prefabs with help components, and shared by all help categories so that
+ * they do not have to look up every prefab asset themselves. Afterwards it is kept up to date with targeted updates,
+ * which are passed on to the subscribed {@link ChangeListener}s. Prefabs that were reloaded, added or disposed by the
+ * asset system are picked up in the background while change checks are active, i.e., while the help screen is open.
+ */
+public interface HelpPrefabIndex {
+
+    /**
+     * Retrieves all prefabs with an {@link org.terasology.inGameHelpAPI.components.ItemHelpComponent}.
+     *
+     * @return an unmodifiable collection of the item help prefabs.
+     */
+    Collection<Prefab> getItemHelpPrefabs();
+
+    /**
+     * Retrieves all prefabs with a {@link org.terasology.inGameHelp.components.GeneralHelpComponent}, starting with the
+     * general help of this module.
+     *
+     * @return an unmodifiable, ordered list of the general help prefabs.
+     */
+    List<Prefab> getGeneralHelpPrefabs();
+
+    /**
+     * Finds a help prefab by its name without looking up the prefab asset. This covers prefabs with item or general
+     * help and prefabs that were passed to {@link #update(Collection)}, e.g., because help items were registered for
+     * them.
+     *
+     * @param name the name of the prefab, i.e., its URN.
+     * @return the prefab, or an empty optional if it is not known to the index.
+     */
+    Optional<Prefab> getPrefab(String name);
+
+    /**
+     * Retrieves the revision of this index, which changes whenever the set of indexed prefabs changes. Callers can
+     * compare revisions to find out whether something they derived from the index is still up to date.
+     *
+     * @return the current revision of the index.
+     */
+    int getRevision();
+
+    /**
+     * Retrieves the revision of the general help prefabs, which only changes when a prefab with general help is added,
+     * reloaded or removed. Changes to item help leave it untouched, so the general help does not have to be parsed
+     * again for them.
+     *
+     * @return the current revision of the general help prefabs.
+     */
+    int getGeneralHelpRevision();
+
+    /**
+     * Re-evaluates the given prefabs, e.g., after they have been reloaded or newly registered for help, and notifies
+     * the listeners about them. Disposed prefabs are removed from the index.
+     *
+     * @param prefabs the prefabs that changed.
+     */
+    void update(Collection<Prefab> prefabs);
+
+    /**
+     * Starts or stops checking the loaded prefabs for prefabs that were reloaded, added or disposed by the asset
+     * system. While active, a check runs right away and then every few seconds, spread over several frames. While
+     * inactive, nothing is checked, so the help costs nothing while it is not used.
+     *
+     * @param active true to check for changed prefabs, e.g., while the help screen is open.
+     */
+    void setChangeChecksActive(boolean active);
+
+    /**
+     * Subscribes a listener to changes of the help prefabs.
+     *
+     * @param listener the listener to notify about changes.
+     */
+    void subscribe(ChangeListener listener);
+
+    /**
+     * Listener for changes of help prefabs after the index has been built.
+     */
+    interface ChangeListener {
+        /**
+         * Called on the game thread after help prefabs have changed.
+         *
+         * @param changed prefabs that were added, reloaded or newly registered for help.
+         * @param removed prefabs that were disposed.
+         */
+        void onHelpPrefabsChanged(Collection<Prefab> changed, Collection<Prefab> removed);
+    }
+}
@@ -0,0 +1,23 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.inGameHelp;
+
+/**
+ * Builds help documents the player is likely to open next, e.g., for the item under the mouse or the selected item,
+ * with low priority on the game thread.
+ */
+public interface HelpPrefetcher {
+
+    /**
+     * Requests the document for the given hyperlink to be built ahead of time. Replaces any pending request that has
+     * not been started yet.
+     *
+     * @param hyperlink the link to the document.
+     */
+    void prefetch(String hyperlink);
+
+    /**
+     * Cancels the pending request, if there is one.
+     */
+    void cancelPrefetch();
+}
@@ -0,0 +1,22 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.inGameHelp;
+
+import java.util.Collection;
+
+/**
+ * A help category that owns all hyperlinks starting with one of its prefixes. The prefixes are routed to the category
+ * when it is registered, including categories added through an
+ * {@link org.terasology.inGameHelpAPI.event.OnAddNewCategoryEvent}, so the help screen sends these hyperlinks straight
+ * to it instead of offering them to every category.
+ */
+public interface HyperlinkPrefixHelpCategory {
+
+    /**
+     * Retrieves the hyperlink prefixes this category handles. If several prefixes of different categories match a
+     * hyperlink, the longest one wins.
+     *
+     * @return the hyperlink prefixes, which are read once when the category is registered.
+     */
+    Collection<String> getHyperlinkPrefixes();
+}
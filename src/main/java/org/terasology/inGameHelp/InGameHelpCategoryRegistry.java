@@ -17,8 +17,13 @@ package org.terasology.inGameHelp;
 
 import org.terasology.inGameHelpAPI.systems.HelpCategory;
 
+import java.util.Collection;
+import java.util.Optional;
+
 /**
  * Interface for managing the different help categories.
+ * <p>
+ * Implementations must allow registering categories while other threads iterate over them.
  */
 public interface InGameHelpCategoryRegistry {
 
@@ -30,9 +35,55 @@ public interface InGameHelpCategoryRegistry {
     Iterable<HelpCategory> getCategories();
 
     /**
-     * Adds a {@link org.terasology.inGameHelpAPI.systems.HelpCategory} to this registry.
+     * Finds a {@link org.terasology.inGameHelpAPI.systems.HelpCategory} by its name, ignoring case.
+     *
+     * @param name the name of the category.
+     * @return the category, or an empty optional if no category with that name is registered.
+     */
+    Optional<HelpCategory> getCategory(String name);
+
+    /**
+     * Retrieves the revision of this registry, which changes whenever categories are registered. Callers can compare
+     * revisions to find out whether they have to pick up new categories.
+     *
+     * @return the current revision of the registry.
+     */
+    int getRevision();
+
+    /**
+     * Adds a {@link org.terasology.inGameHelpAPI.systems.HelpCategory} to this registry. The hyperlink prefixes of a
+     * {@link HyperlinkPrefixHelpCategory} are routed to it.
      *
      * @param category the {@link org.terasology.inGameHelpAPI.systems.HelpCategory} to add.
      */
     void registerCategory(HelpCategory category);
+
+    /**
+     * Adds several {@link org.terasology.inGameHelpAPI.systems.HelpCategory}s to this registry at once. The revision of
+     * the registry changes only once, so the help screen picks up all of them in a single refresh.
+     *
+     * @param categories the categories to add, in order.
+     */
+    void registerCategories(Collection<HelpCategory> categories);
+
+    /**
+     * Routes all hyperlinks starting with the given prefix to a {@link org.terasology.inGameHelpAPI.systems.HelpCategory}.
+     * If several prefixes match a hyperlink, the longest one wins.
+     *
+     * @param prefix the hyperlink prefix to route.
+     * @param category the category that handles hyperlinks with this prefix.
+     */
+    void registerHyperlinkPrefix(String prefix, HelpCategory category);
+
+    /**
+     * Finds the {@link org.terasology.inGameHelpAPI.systems.HelpCategory} that owns a hyperlink, without asking every
+     * category whether it can handle it.
+     * <p>
+     * Hyperlinks are resolved against the registered prefixes first. Otherwise, a hyperlink naming a help prefab is
+     * routed to the category named by the prefab's help component.
+     *
+     * @param hyperlink the link to route.
+     * @return the owning category, or an empty optional if the hyperlink cannot be routed.
+     */
+    Optional<HelpCategory> getCategoryForHyperlink(String hyperlink);
 }
@@ -0,0 +1,61 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.inGameHelp;
+
+/**
+ * Collects performance metrics of the in-game help, such as index and document build times, cache hit rates and the
+ * latency between a request to open the help screen and its first render.
+ * <p>
+ * All methods may be called from any thread. The default implementations do nothing, so {@link #NONE} can be used
+ * where no metrics are collected.
+ */
+public interface InGameHelpMetrics {
+    /** Metrics that are discarded. */
+    InGameHelpMetrics NONE = new InGameHelpMetrics() {
+    };
+
+    /**
+     * Records that a category built its index of entries.
+     *
+     * @param category the name of the category.
+     * @param nanos the time it took to build the index, in nanoseconds.
+     * @param entries the number of entries in the index.
+     */
+    default void recordIndexBuild(String category, long nanos, int entries) {
+    }
+
+    /**
+     * Records that a category built a help document.
+     *
+     * @param category the name of the category.
+     * @param nanos the time it took to build the document, in nanoseconds.
+     * @param paragraphs the number of paragraphs in the document.
+     */
+    default void recordDocumentBuild(String category, long nanos, int paragraphs) {
+    }
+
+    /**
+     * Records a lookup in a document cache of a category.
+     *
+     * @param category the name of the category.
+     * @param hit true if the document was cached.
+     */
+    default void recordCacheLookup(String category, boolean hit) {
+    }
+
+    /**
+     * Records that opening the help screen has been requested. The latency is measured until the next call to
+     * {@link #recordScreenRendered()}.
+     *
+     * @param trigger what requested the help screen, e.g., the help button or a hyperlink.
+     * @param warm true if the screen was already built and only needs to be shown, false if it is built first.
+     */
+    default void recordScreenRequested(String trigger, boolean warm) {
+    }
+
+    /**
+     * Records that the help screen has been rendered.
+     */
+    default void recordScreenRendered() {
+    }
+}
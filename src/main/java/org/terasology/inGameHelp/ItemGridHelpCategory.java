@@ -0,0 +1,19 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.inGameHelp;
+
+import java.util.List;
+
+/**
+ * A help category whose root page is a grid of items, which the help screen shows in a virtualized grid instead of a
+ * document. Only the rows in view are laid out and drawn, so the cost does not grow with the number of items.
+ */
+public interface ItemGridHelpCategory {
+
+    /**
+     * Retrieves the items to show in the grid if the category currently shows its root page in grid mode.
+     *
+     * @return the hyperlinks of the items in display order, or null if the category currently shows a document.
+     */
+    List<String> getItemGrid();
+}
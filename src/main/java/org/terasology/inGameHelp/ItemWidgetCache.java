@@ -0,0 +1,56 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.inGameHelp;
+
+import org.terasology.inGameHelpAPI.ui.ItemWidget;
+
+/**
+ * Cache of {@link ItemWidget}s used by the item grid and the title paragraphs of the item help documents, so an item's
+ * icon or mesh preview is only resolved once no matter where it is shown.
+ * <p>
+ * The grid and a document may be handed the same widget instance. This is safe because widgets are drawn in immediate
+ * mode by whichever widget draws them and do not keep a reference to a parent, and because the help screen shows
+ * either the grid or a document, never both at once.
+ * <p>
+ * The cache keeps the most recently used widgets, and is emptied once it has been idle for a while so the resources
+ * of the previews are not held while the help is not used. It must only be used on the game thread.
+ */
+public interface ItemWidgetCache {
+
+    /**
+     * Gets the widget for an item, creating it if it is not cached.
+     *
+     * @param hyperlink the hyperlink of the item, i.e., its prefab name.
+     * @return the widget showing the item's icon or preview.
+     */
+    ItemWidget get(String hyperlink);
+
+    /**
+     * Makes sure the cache can hold at least the given number of widgets, e.g., all widgets in view of a grid.
+     *
+     * @param minimumCapacity the number of widgets to keep at least.
+     */
+    void ensureCapacity(int minimumCapacity);
+
+    /**
+     * Records that the help screen has been opened, which stops the idle eviction.
+     */
+    void onScreenOpened();
+
+    /**
+     * Records that the help screen has been closed, which starts the idle eviction.
+     */
+    void onScreenClosed();
+
+    /**
+     * Empties the cache if it has been idle for a while.
+     *
+     * @return true if the cache was emptied.
+     */
+    boolean evictIfIdle();
+
+    /**
+     * Removes all cached widgets.
+     */
+    void clear();
+}
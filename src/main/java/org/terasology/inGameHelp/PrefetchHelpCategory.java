@@ -0,0 +1,24 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.inGameHelp;
+
+/**
+ * A help category that can build the document for a hyperlink ahead of time, so navigating to it later is instant.
+ */
+public interface PrefetchHelpCategory {
+
+    /**
+     * Builds and caches the document the given hyperlink leads to, if it is not cached yet. Must be called on the game
+     * thread. Categories that are not ready yet, e.g., because they are still warming up, do nothing.
+     *
+     * @param hyperlink the link to the document.
+     * @return true if a document was built, false if there was nothing to do.
+     */
+    boolean prefetch(String hyperlink);
+
+    /**
+     * Drops the cached documents that are not shown, e.g., because the help has not been used for a while. Must be
+     * called on the game thread.
+     */
+    void releaseCachedDocuments();
+}
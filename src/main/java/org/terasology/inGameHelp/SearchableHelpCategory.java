@@ -0,0 +1,27 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.inGameHelp;
+
+import org.terasology.inGameHelp.search.HelpSearchIndex;
+
+/**
+ * A help category whose content can be found with the search box of the help screen.
+ */
+public interface SearchableHelpCategory {
+
+    /**
+     * Adds the content of this category to the search index. Every page must be added under a hyperlink that is
+     * routed to this category and accepted by its {@code handleNavigate}.
+     *
+     * @param index the index to add the content to.
+     * @return false if the content is not available yet, e.g., because it is still warming up.
+     */
+    boolean indexContent(HelpSearchIndex index);
+
+    /**
+     * Retrieves the revision of the content of this category, which changes whenever the searchable content changes.
+     *
+     * @return the current revision of the content.
+     */
+    int getContentRevision();
+}
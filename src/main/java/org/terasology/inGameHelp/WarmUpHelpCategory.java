@@ -0,0 +1,27 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.inGameHelp;
+
+import java.util.concurrent.Executor;
+
+/**
+ * A help category that can prepare its content in the background before it is shown for the first time.
+ * <p>
+ * While the warm-up is running, the category shows a placeholder document. The help screen navigates to the category
+ * again once the warm-up has finished.
+ */
+public interface WarmUpHelpCategory {
+
+    /**
+     * Starts preparing the content of this category. Must be called on the game thread; only the work that does not
+     * touch UI widgets is run on the given executor.
+     *
+     * @param executor the executor to run the background work on.
+     */
+    void warmUp(Executor executor);
+
+    /**
+     * @return true if a warm-up has been started and its result has not been picked up yet.
+     */
+    boolean isWarmingUp();
+}
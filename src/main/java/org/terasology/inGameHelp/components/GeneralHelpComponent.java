@@ -2,7 +2,7 @@
 // SPDX-License-Identifier: Apache-2.0
 package org.terasology.inGameHelp.components;
 
-import com.google.common.collect.Lists;
+import com.google.common.collect.ImmutableList;
 import org.terasology.engine.rendering.nui.widgets.browser.data.ParagraphData;
 import org.terasology.engine.rendering.nui.widgets.browser.data.basic.HTMLLikeParser;
 import org.terasology.gestalt.entitysystem.component.Component;
@@ -21,9 +21,15 @@ public class GeneralHelpComponent implements Component<GeneralHelpComponent>, He
     /** Name of this help category. */
     public String category = "General";
 
-    /** Description of this help item. */
+    /**
+     * Description of this help item. Once the paragraphs have been read, the text is changed by assigning a new list or
+     * with {@link #copyFrom(GeneralHelpComponent)}; changes made to the list in place are not picked up.
+     */
     public List<String> paragraphText = new ArrayList<>();
 
+    /** The parsed paragraphs, or null if they have not been parsed yet. Not part of the component's state. */
+    private transient volatile ParsedParagraphs parsedParagraphs;
+
     /**
      * @return the title of this help item.
      */
@@ -42,16 +48,20 @@ public class GeneralHelpComponent implements Component<GeneralHelpComponent>, He
 
     /**
      * Gets the description of this help item.
+     * <p>
+     * The paragraphs are parsed once and reused until {@link #paragraphText} is replaced or the component is copied
+     * over, so reading them costs a single comparison of references.
      *
-     * @return an iterable of paragraph data that contains the description of this help item.
+     * @return an immutable list of paragraph data that contains the description of this help item.
      */
     @Override
-    public Iterable<ParagraphData> getParagraphs() {
-        List<ParagraphData> result = Lists.newLinkedList();
-        for (String paragraph : paragraphText) {
-            result.add(HTMLLikeParser.parseHTMLLikeParagraph(null, paragraph));
+    public List<ParagraphData> getParagraphs() {
+        ParsedParagraphs parsed = parsedParagraphs;
+        if (parsed == null || parsed.source != paragraphText) {
+            parsed = new ParsedParagraphs(paragraphText);
+            parsedParagraphs = parsed;
         }
-        return result;
+        return parsed.paragraphs;
     }
 
     @Override
@@ -60,5 +70,28 @@ public class GeneralHelpComponent implements Component<GeneralHelpComponent>, He
         this.category = other.category;
         this.paragraphText.clear();
         this.paragraphText.addAll(other.paragraphText);
+        this.parsedParagraphs = null;
+    }
+
+    /**
+     * Paragraphs parsed from a copy of the paragraph text. The list they were parsed from is kept with them, so a parse
+     * published by another thread is only reused for that list.
+     */
+    private static final class ParsedParagraphs {
+        /** The paragraph text list the paragraphs were parsed from, compared by identity. */
+        private final List<String> source;
+
+        /** The parsed paragraphs. */
+        private final List<ParagraphData> paragraphs;
+
+        private ParsedParagraphs(List<String> paragraphText) {
+            source = paragraphText;
+            List<String> text = ImmutableList.copyOf(paragraphText);
+            ImmutableList.Builder<ParagraphData> builder = ImmutableList.builderWithExpectedSize(text.size());
+            for (String paragraph : text) {
+                builder.add(HTMLLikeParser.parseHTMLLikeParagraph(null, paragraph));
+            }
+            paragraphs = builder.build();
+        }
     }
 }
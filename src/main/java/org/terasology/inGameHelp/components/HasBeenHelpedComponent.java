@@ -6,7 +6,11 @@ import org.terasology.gestalt.entitysystem.component.EmptyComponent;
 
 /**
  * Component for when the user has been helped.
- * This component is added to the entity whenever the user presses the button that displays the InGameHelpScreen, so that another screen doesn't display if that particular user is currently being helped.
+ * This component was added to the entity whenever the user pressed the button that displays the InGameHelpScreen, so that another screen doesn't display if that particular user is currently being helped.
+ *
+ * @deprecated whether the user has been helped is now stored on the client. The component is no longer added and is
+ *         only read to migrate characters of existing worlds.
  */
+@Deprecated
 public class HasBeenHelpedComponent extends EmptyComponent<HasBeenHelpedComponent> {
 }
@@ -0,0 +1,15 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.inGameHelp.event;
+
+import org.terasology.engine.entitySystem.event.Event;
+import org.terasology.engine.network.ServerEvent;
+
+/**
+ * Sent by a client to its character once the character's
+ * {@link org.terasology.inGameHelp.components.HasBeenHelpedComponent} has been migrated to the client-local onboarding
+ * state, so that the server removes the component from the character.
+ */
+@ServerEvent
+public class HasBeenHelpedMigratedEvent implements Event {
+}
@@ -0,0 +1,106 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.inGameHelp.helpCategories;
+
+import org.terasology.engine.rendering.nui.widgets.browser.data.DocumentData;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Size-bounded cache of help documents that evicts the least recently used document first.
+ *
+ * @param <K> the type of the keys identifying the documents
+ */
+class DocumentCache<K> {
+    private final int capacity;
+    private final Map<K, DocumentData> documents;
+
+    private long hits;
+    private long misses;
+
+    /**
+     * Creates an empty cache.
+     *
+     * @param capacity the maximum number of documents to keep
+     */
+    DocumentCache(int capacity) {
+        this.capacity = capacity;
+        this.documents = new LinkedHashMap<K, DocumentData>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, DocumentData> eldest) {
+                return size() > DocumentCache.this.capacity;
+            }
+        };
+    }
+
+    /**
+     * Get the document for the given key, building and caching it if it is not cached yet.
+     *
+     * @param key the key of the document
+     * @param builder creates the document if it is not cached
+     * @return the cached or newly built document
+     */
+    DocumentData get(K key, Supplier<DocumentData> builder) {
+        DocumentData document = documents.get(key);
+        if (document != null) {
+            hits++;
+            return document;
+        }
+        misses++;
+        document = builder.get();
+        documents.put(key, document);
+        return document;
+    }
+
+    /**
+     * Check whether a document is cached, without counting a hit or miss or affecting the eviction order.
+     *
+     * @param key the key of the document
+     * @return true if the document is cached
+     */
+    boolean contains(K key) {
+        return documents.containsKey(key);
+    }
+
+    /**
+     * Cache a document that was built ahead of time, e.g., by a prefetch.
+     *
+     * @param key the key of the document
+     * @param document the document to cache
+     */
+    void put(K key, DocumentData document) {
+        documents.put(key, document);
+    }
+
+    /**
+     * Remove the document for the given key, e.g., because its content changed.
+     *
+     * @param key the key of the document
+     */
+    void invalidate(K key) {
+        documents.remove(key);
+    }
+
+    /**
+     * Remove all cached documents.
+     */
+    void clear() {
+        documents.clear();
+    }
+
+    /**
+     * @return the number of lookups that found the document cached
+     */
+    long getHits() {
+        return hits;
+    }
+
+    /**
+     * @return the number of lookups that had to build the document
+     */
+    long getMisses() {
+        return misses;
+    }
+}
@@ -15,24 +15,83 @@
  */
 package org.terasology.inGameHelp.helpCategories;
 
-import org.terasology.gestalt.assets.ResourceUrn;
+import com.google.common.collect.Lists;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.terasology.engine.entitySystem.prefab.Prefab;
 import org.terasology.engine.rendering.nui.widgets.browser.data.DocumentData;
 import org.terasology.engine.rendering.nui.widgets.browser.data.basic.HTMLLikeParser;
 import org.terasology.engine.rendering.nui.widgets.browser.data.html.HTMLDocument;
-import org.terasology.engine.utilities.Assets;
+import org.terasology.inGameHelp.HelpPrefabIndex;
+import org.terasology.inGameHelp.InGameHelpMetrics;
+import org.terasology.inGameHelp.SearchableHelpCategory;
+import org.terasology.inGameHelp.WarmUpHelpCategory;
+import org.terasology.inGameHelp.search.HelpSearchIndex;
 import org.terasology.inGameHelp.components.GeneralHelpComponent;
+import org.terasology.inGameHelp.ui.HelpRenderStyles;
 import org.terasology.inGameHelpAPI.ItemsCategoryInGameHelpRegistry;
 import org.terasology.inGameHelpAPI.systems.HelpCategory;
-import org.terasology.inGameHelpAPI.ui.DefaultTitleParagraphStyle;
 
-import java.util.Comparator;
-import java.util.stream.Collectors;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 
 /**
  * Help category for the general tab.
  */
-public class GeneralHelpCategory implements HelpCategory {
+public class GeneralHelpCategory implements HelpCategory, WarmUpHelpCategory, SearchableHelpCategory {
+    private static final Logger logger = LoggerFactory.getLogger(GeneralHelpCategory.class);
+
+    /**
+     * Reference to the {@link HelpPrefabIndex} that knows all prefabs with general help.
+     */
+    private final HelpPrefabIndex helpPrefabIndex;
+
+    /**
+     * Metrics to record parse times to.
+     */
+    private final InGameHelpMetrics metrics;
+
+    /**
+     * The parsed general help, or null if it has not been built yet.
+     */
+    private ParsedGeneralHelp parsedHelp;
+
+    /**
+     * The general help being parsed in the background, or null if no warm-up is running.
+     */
+    private CompletableFuture<ParsedGeneralHelp> pendingHelp;
+
+    /**
+     * Document shown while the warm-up is still running.
+     */
+    private HTMLDocument placeholderDocument;
+
+    /**
+     * Revision of the parsed general help, incremented whenever it is rebuilt.
+     */
+    private int contentRevision;
+
+    /**
+     * Constructor for this help category.
+     *
+     * @param helpPrefabIndex the index of all help prefabs.
+     */
+    public GeneralHelpCategory(HelpPrefabIndex helpPrefabIndex) {
+        this(helpPrefabIndex, InGameHelpMetrics.NONE);
+    }
+
+    /**
+     * Constructor for this help category that records its performance metrics.
+     *
+     * @param helpPrefabIndex the index of all help prefabs.
+     * @param metrics the metrics to record parse times to.
+     */
+    public GeneralHelpCategory(HelpPrefabIndex helpPrefabIndex, InGameHelpMetrics metrics) {
+        this.helpPrefabIndex = helpPrefabIndex;
+        this.metrics = metrics;
+    }
 
     /**
      * Gets the name of this category.
@@ -49,39 +108,204 @@ public class GeneralHelpCategory implements HelpCategory {
     }
 
     /**
-     * Gets the general help information then adds it to a document data
+     * Starts parsing the general help on the given executor. The help prefabs and their components are collected on
+     * the calling game thread, so only the parser runs in the background.
+     *
+     * @param executor the executor to parse the general help on.
+     */
+    @Override
+    public void warmUp(Executor executor) {
+        if (parsedHelp == null && pendingHelp == null) {
+            ParsedGeneralHelp help = new ParsedGeneralHelp(helpPrefabIndex);
+            pendingHelp = CompletableFuture.supplyAsync(() -> parse(help), executor);
+        }
+    }
+
+    /**
+     * @return true if the general help is still being parsed in the background.
+     */
+    @Override
+    public boolean isWarmingUp() {
+        return pendingHelp != null && !pendingHelp.isDone();
+    }
+
+    /**
+     * Gets the general help information then adds it to a document data.
+     * <p>
+     * The document is parsed once and reused until a general help prefab is added, removed or reloaded.
      *
-     * @return a document with general help information.
+     * @return a document with general help information, or a placeholder if it is still being parsed.
      */
     @Override
     public DocumentData getDocumentData() {
-        HTMLDocument documentData = new HTMLDocument(null);
-
-        for (GeneralHelpComponent helpComponent : Assets.list(Prefab.class).stream()
-                // ensure that this module's help is first
-                .sorted(Comparator.comparing(x -> !x.equals(new ResourceUrn("InGameHelp:GeneralHelp"))))
-                .map(x -> Assets.get(x, Prefab.class))
-                .map(x -> x.get().getComponent(GeneralHelpComponent.class))
-                .filter(x -> x != null)
-                .collect(Collectors.toList())) {
-            documentData.addParagraph(HTMLLikeParser.parseHTMLLikeParagraph(new DefaultTitleParagraphStyle(), helpComponent.title));
+        if (!ensureParsed()) {
+            return getPlaceholderDocument();
+        }
+        return parsedHelp.document;
+    }
+
+    /**
+     * Makes sure the parsed general help is up to date, picking up the result of a finished warm-up if there is one.
+     *
+     * @return true if the general help is parsed, false if the warm-up is still running.
+     */
+    private boolean ensureParsed() {
+        if (pendingHelp != null) {
+            if (!pendingHelp.isDone()) {
+                return false;
+            }
+            try {
+                parsedHelp = pendingHelp.join();
+                contentRevision++;
+            } catch (CompletionException e) {
+                logger.warn("Failed to prepare the general help in the background, retrying on the game thread", e);
+            }
+            pendingHelp = null;
+        }
+        if (parsedHelp == null || !parsedHelp.isUpToDate(helpPrefabIndex)) {
+            parsedHelp = parse(new ParsedGeneralHelp(helpPrefabIndex));
+            contentRevision++;
+        }
+        return true;
+    }
+
+    /**
+     * Parses the general help of all prefabs and records how long it took. The general help is indexed and laid out
+     * in a single pass, so the time is recorded both as index and as document build.
+     *
+     * @param help the general help to parse.
+     * @return the parsed general help.
+     */
+    private ParsedGeneralHelp parse(ParsedGeneralHelp help) {
+        long start = System.nanoTime();
+        help.parse();
+        long nanos = System.nanoTime() - start;
+        metrics.recordIndexBuild(getCategoryName(), nanos, help.prefabs.size());
+        metrics.recordDocumentBuild(getCategoryName(), nanos, help.document.getParagraphs().size());
+        return help;
+    }
+
+    /**
+     * Adds the title and paragraphs of every general help prefab to the search index. Each prefab is found under its
+     * name, which navigates to the general help document.
+     *
+     * @param index the index to add the content to.
+     * @return false if the general help is still being parsed in the background.
+     */
+    @Override
+    public boolean indexContent(HelpSearchIndex index) {
+        if (!ensureParsed()) {
+            return false;
+        }
+        for (int i = 0; i < parsedHelp.prefabs.size(); i++) {
+            GeneralHelpComponent helpComponent = parsedHelp.components.get(i);
+            if (helpComponent == null) {
+                continue;
+            }
+            String hyperlink = parsedHelp.prefabs.get(i).getName();
+            index.add(hyperlink, helpComponent.title, helpComponent.title, HelpSearchIndex.NAME_WEIGHT);
             for (String paragraph : helpComponent.paragraphText) {
-                documentData.addParagraph(HTMLLikeParser.parseHTMLLikeParagraph(null, paragraph));
+                index.add(hyperlink, helpComponent.title, paragraph, HelpSearchIndex.TEXT_WEIGHT);
             }
         }
+        return true;
+    }
 
-        return documentData;
+    /**
+     * @return the revision of the parsed general help.
+     */
+    @Override
+    public int getContentRevision() {
+        ensureParsed();
+        return contentRevision;
     }
 
     /**
-     * @return false
-     */ 
+     * @return the document shown while the warm-up is still running.
+     */
+    private DocumentData getPlaceholderDocument() {
+        if (placeholderDocument == null) {
+            placeholderDocument = new HTMLDocument(null);
+            placeholderDocument.addParagraph(HTMLLikeParser.parseHTMLLikeParagraph(null, "Loading help..."));
+        }
+        return placeholderDocument;
+    }
+
+    /**
+     * Accepts the names of general help prefabs, as found by the search. All of them lead to the general help document.
+     *
+     * @param hyperlink the link to the document.
+     * @return true if the hyperlink names a general help prefab. false if otherwise.
+     */
     @Override
     public boolean handleNavigate(String hyperlink) {
-        return false;
+        return helpPrefabIndex.getPrefab(hyperlink)
+                .filter(prefab -> prefab.hasComponent(GeneralHelpComponent.class))
+                .isPresent();
     }
 
     @Override
     public void resetNavigation() {
     }
+
+    /**
+     * The general help of all prefabs parsed into a document, together with what it was built from.
+     */
+    private static final class ParsedGeneralHelp {
+        /** The parsed general help document, or null if it has not been parsed yet. */
+        private HTMLDocument document;
+
+        /** The revision of the general help prefabs the document was built from. */
+        private final int revision;
+
+        /** The general help prefabs the document was built from, in document order. */
+        private final List<Prefab> prefabs;
+
+        /** The help components of the prefabs, in document order. */
+        private final List<GeneralHelpComponent> components = Lists.newArrayList();
+
+        /**
+         * Collects the general help prefabs and their help components from the index. Must be called on the game
+         * thread.
+         *
+         * @param helpPrefabIndex the index of all help prefabs.
+         */
+        ParsedGeneralHelp(HelpPrefabIndex helpPrefabIndex) {
+            revision = helpPrefabIndex.getGeneralHelpRevision();
+            prefabs = helpPrefabIndex.getGeneralHelpPrefabs();
+            for (Prefab prefab : prefabs) {
+                components.add(prefab.getComponent(GeneralHelpComponent.class));
+            }
+        }
+
+        /**
+         * Parses the collected general help into a new document. This only reads the collected help components and
+         * does not touch any UI widgets, so it may be run off the game thread.
+         */
+        void parse() {
+            HTMLDocument parsed = new HTMLDocument(null);
+
+            // the index lists this module's help first
+            for (GeneralHelpComponent helpComponent : components) {
+                if (helpComponent == null) {
+                    continue;
+                }
+                parsed.addParagraph(
+                        HTMLLikeParser.parseHTMLLikeParagraph(HelpRenderStyles.getTitleParagraphStyle(), helpComponent.title));
+                parsed.addParagraphs(helpComponent.getParagraphs());
+            }
+            document = parsed;
+        }
+
+        /**
+         * Checks whether the document still reflects the general help prefabs. The index detects reloaded general help
+         * prefabs and bumps the revision of the general help, so the prefabs do not have to be compared here.
+         *
+         * @param helpPrefabIndex the index of all help prefabs.
+         * @return true if the document can be reused.
+         */
+        boolean isUpToDate(HelpPrefabIndex helpPrefabIndex) {
+            return revision == helpPrefabIndex.getGeneralHelpRevision();
+        }
+    }
 }
@@ -3,17 +3,20 @@
 
 package org.terasology.inGameHelp.helpCategories;
 
-import org.terasology.engine.rendering.nui.widgets.browser.data.DocumentData;
+import org.terasology.engine.entitySystem.prefab.Prefab;
 
+/**
+ * Metadata needed to list and sort an item in the help. The detailed help document is built on demand.
+ */
 class ItemHelpEntry {
     private final String hyperlink;
     private final String displayName;
-    private final DocumentData documentData;
+    private final Prefab prefab;
 
-    ItemHelpEntry(String hyperlink, String displayName, DocumentData documentData) {
+    ItemHelpEntry(String hyperlink, String displayName, Prefab prefab) {
         this.hyperlink = hyperlink;
         this.displayName = displayName;
-        this.documentData = documentData;
+        this.prefab = prefab;
     }
 
     String getHyperlink() {
@@ -24,7 +27,7 @@ class ItemHelpEntry {
         return displayName;
     }
 
-    DocumentData getDocumentData() {
-        return documentData;
+    Prefab getPrefab() {
+        return prefab;
     }
 }
@@ -2,37 +2,73 @@
 // SPDX-License-Identifier: Apache-2.0
 package org.terasology.inGameHelp.helpCategories;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Streams;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.terasology.engine.entitySystem.prefab.Prefab;
 import org.terasology.engine.logic.common.DisplayNameComponent;
-import org.terasology.engine.rendering.assets.font.Font;
 import org.terasology.engine.rendering.nui.widgets.browser.data.DocumentData;
 import org.terasology.engine.rendering.nui.widgets.browser.data.ParagraphData;
 import org.terasology.engine.rendering.nui.widgets.browser.data.basic.FlowParagraphData;
+import org.terasology.engine.rendering.nui.widgets.browser.data.basic.HTMLLikeParser;
 import org.terasology.engine.rendering.nui.widgets.browser.data.basic.flow.FlowRenderable;
 import org.terasology.engine.rendering.nui.widgets.browser.data.basic.flow.TextFlowRenderable;
 import org.terasology.engine.rendering.nui.widgets.browser.data.html.HTMLDocument;
 import org.terasology.engine.rendering.nui.widgets.browser.ui.style.TextRenderStyle;
-import org.terasology.engine.utilities.Assets;
+import org.terasology.inGameHelp.HelpPrefabIndex;
+import org.terasology.inGameHelp.InGameHelpMetrics;
+import org.terasology.inGameHelp.ItemGridHelpCategory;
+import org.terasology.inGameHelp.ItemWidgetCache;
+import org.terasology.inGameHelp.PrefetchHelpCategory;
+import org.terasology.inGameHelp.SearchableHelpCategory;
+import org.terasology.inGameHelp.WarmUpHelpCategory;
+import org.terasology.inGameHelp.components.GeneralHelpComponent;
+import org.terasology.inGameHelp.search.HelpSearchIndex;
+import org.terasology.inGameHelp.systems.ItemWidgetCacheSystem;
+import org.terasology.inGameHelp.ui.HelpRenderStyles;
 import org.terasology.inGameHelpAPI.ItemsCategoryInGameHelpRegistry;
 import org.terasology.inGameHelpAPI.components.HelpItem;
 import org.terasology.inGameHelpAPI.components.ItemHelpComponent;
 import org.terasology.inGameHelpAPI.systems.HelpCategory;
-import org.terasology.inGameHelpAPI.ui.ItemWidget;
 import org.terasology.inGameHelpAPI.ui.WidgetFlowRenderable;
 
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 import java.util.stream.Collectors;
-import java.util.stream.StreamSupport;
 
 /**
  * Help category that manages the Items tab.
  */
-public class ItemsCategory implements HelpCategory {
+public class ItemsCategory implements HelpCategory, WarmUpHelpCategory, SearchableHelpCategory, ItemGridHelpCategory,
+        PrefetchHelpCategory, HelpPrefabIndex.ChangeListener {
+    private static final Logger logger = LoggerFactory.getLogger(ItemsCategory.class);
+
+    /**
+     * Maximum number of item help documents kept in memory.
+     */
+    private static final int DOCUMENT_CACHE_SIZE = 64;
+
+    /**
+     * Category of items that have been registered without an {@link ItemHelpComponent}.
+     */
+    private static final String DEFAULT_CATEGORY = new ItemHelpComponent().getCategory();
+
+    /**
+     * Order of the item help entries in the UI.
+     */
+    private static final Comparator<ItemHelpEntry> ITEM_ORDER = Comparator.comparing(ItemHelpEntry::getDisplayName);
 
     /**
      * Name of this category
@@ -46,12 +82,48 @@ public class ItemsCategory implements HelpCategory {
     private final ItemsCategoryInGameHelpRegistry itemsCategoryInGameHelpRegistry;
 
     /**
-     * Sorted list of item help entries with hyperlink and document data attached.
+     * Metrics to record build times and cache lookups to.
+     */
+    private final InGameHelpMetrics metrics;
+
+    /**
+     * The index of all help prefabs, used to look up prefabs by hyperlink. Null if this category was created without
+     * one.
+     */
+    private HelpPrefabIndex helpPrefabIndex;
+
+    /**
+     * Cache of the widgets showing the items' icons, shared with the item grid of the help screen.
+     */
+    private final ItemWidgetCache itemWidgetCache;
+
+    /**
+     * Sorted list of item help entries with hyperlink and display name.
      */
     private List<ItemHelpEntry> items = Lists.newArrayList();
 
     /**
-     * The root HTML document.
+     * Item help entries indexed by their hyperlink, kept in step with {@link #items}.
+     */
+    private Map<String, ItemHelpEntry> itemsByHyperlink = Maps.newHashMap();
+
+    /**
+     * Detailed help documents of the most recently visited items, by hyperlink.
+     */
+    private final DocumentCache<String> documentCache = new DocumentCache<>(DOCUMENT_CACHE_SIZE);
+
+    /**
+     * Hyperlinks of the sorted item help entries, as shown in the item grid. This is a view of {@link #items}.
+     */
+    private List<String> itemHyperlinks = Collections.emptyList();
+
+    /**
+     * Whether the item help entries have been collected.
+     */
+    private boolean initialised;
+
+    /**
+     * The root HTML document, created on demand for screens without an item grid.
      */
     private HTMLDocument rootDocument;
 
@@ -60,41 +132,270 @@ public class ItemsCategory implements HelpCategory {
      */
     private DocumentData currentDocument;
 
+    /**
+     * The hyperlink of the current document, or null if the root page is shown.
+     */
+    private String currentHyperlink;
+
+    /**
+     * The sorted item help entries being collected in the background, or null if no warm-up is running.
+     */
+    private CompletableFuture<List<ItemHelpEntry>> pendingItems;
+
+    /**
+     * Hyperlink navigated to while the warm-up was still running, to be opened once it has finished.
+     */
+    private String pendingHyperlink;
+
+    /**
+     * Document shown while the warm-up is still running.
+     */
+    private HTMLDocument placeholderDocument;
+
+    /**
+     * Revision of the item help entries, incremented whenever they change.
+     */
+    private int contentRevision;
+
+    /**
+     * Prefabs that changed while the warm-up was running, to be applied once it has finished.
+     */
+    private final List<Prefab> deferredChanges = Lists.newArrayList();
+
+    /**
+     * Prefabs that were removed while the warm-up was running, to be applied once it has finished.
+     */
+    private final List<Prefab> deferredRemovals = Lists.newArrayList();
+
     /**
      * Constructor for this help category.
      *
      * @param itemsCategoryInGameHelpRegistry the items category help registry.
      */
     public ItemsCategory(ItemsCategoryInGameHelpRegistry itemsCategoryInGameHelpRegistry) {
+        this(itemsCategoryInGameHelpRegistry, InGameHelpMetrics.NONE);
+    }
+
+    /**
+     * Constructor for this help category that records its performance metrics.
+     *
+     * @param itemsCategoryInGameHelpRegistry the items category help registry.
+     * @param metrics the metrics to record build times and cache lookups to.
+     */
+    public ItemsCategory(ItemsCategoryInGameHelpRegistry itemsCategoryInGameHelpRegistry, InGameHelpMetrics metrics) {
         this.itemsCategoryInGameHelpRegistry = itemsCategoryInGameHelpRegistry;
+        this.metrics = metrics;
+        this.itemWidgetCache = new ItemWidgetCacheSystem();
+    }
+
+    /**
+     * Constructor for this help category that keeps the item help up to date with changes to the help prefabs.
+     *
+     * @param itemsCategoryInGameHelpRegistry the items category help registry.
+     * @param helpPrefabIndex the index of all help prefabs, which notifies about changed prefabs.
+     * @param metrics the metrics to record build times and cache lookups to.
+     */
+    public ItemsCategory(ItemsCategoryInGameHelpRegistry itemsCategoryInGameHelpRegistry, HelpPrefabIndex helpPrefabIndex,
+                         InGameHelpMetrics metrics) {
+        this(itemsCategoryInGameHelpRegistry, helpPrefabIndex, metrics, new ItemWidgetCacheSystem());
+    }
+
+    /**
+     * Constructor for this help category that keeps the item help up to date with changes to the help prefabs and
+     * shares the widgets of the items with the item grid.
+     *
+     * @param itemsCategoryInGameHelpRegistry the items category help registry.
+     * @param helpPrefabIndex the index of all help prefabs, which notifies about changed prefabs.
+     * @param metrics the metrics to record build times and cache lookups to.
+     * @param itemWidgetCache the cache of the widgets showing the items' icons.
+     */
+    public ItemsCategory(ItemsCategoryInGameHelpRegistry itemsCategoryInGameHelpRegistry, HelpPrefabIndex helpPrefabIndex,
+                         InGameHelpMetrics metrics, ItemWidgetCache itemWidgetCache) {
+        this.itemsCategoryInGameHelpRegistry = itemsCategoryInGameHelpRegistry;
+        this.metrics = metrics;
+        this.itemWidgetCache = itemWidgetCache;
+        this.helpPrefabIndex = helpPrefabIndex;
+        helpPrefabIndex.subscribe(this);
     }
 
     public void setRegistry(ItemsCategoryInGameHelpRegistry registry) {
     }
 
     /**
-     * Initialises the help category. Sets the font and padding. Creates the documents then adds help item information
-     * to the documents.
+     * Starts collecting and sorting the item help entries on the given executor. The known prefabs are copied on the
+     * calling game thread, so the background work never iterates the registry while it is being changed. The root
+     * document is created on the game thread once the entries are ready.
+     *
+     * @param executor the executor to collect the entries on.
      */
-    private void initialise() {
-        // initialize the rendering style
-        TextRenderStyle titleRenderStyle = new TextRenderStyle() {
-            /**
-             * @return the title font
-             */
-            @Override
-            public Font getFont(boolean hyperlink) {
-                return Assets.getFont("engine:NotoSans-Regular-Title").get();
-            }
-        };
+    @Override
+    public void warmUp(Executor executor) {
+        if (!initialised && pendingItems == null) {
+            List<Prefab> prefabs = ImmutableList.copyOf(itemsCategoryInGameHelpRegistry.getKnownPrefabs());
+            pendingItems = CompletableFuture.supplyAsync(() -> collectItems(prefabs), executor);
+        }
+    }
+
+    /**
+     * @return true if the item help entries are still being collected in the background.
+     */
+    @Override
+    public boolean isWarmingUp() {
+        return pendingItems != null && !pendingItems.isDone();
+    }
+
+    /**
+     * Makes sure the help category is initialised, picking up the result of a finished warm-up if there is one.
+     *
+     * @return true if the category is initialised, false if the warm-up is still running.
+     */
+    private boolean ensureInitialised() {
+        if (initialised) {
+            return true;
+        }
+        if (pendingItems == null) {
+            initialise(collectItems(ImmutableList.copyOf(itemsCategoryInGameHelpRegistry.getKnownPrefabs())));
+            return true;
+        }
+        if (!pendingItems.isDone()) {
+            return false;
+        }
+
+        List<ItemHelpEntry> collectedItems;
+        try {
+            collectedItems = pendingItems.join();
+        } catch (CompletionException e) {
+            logger.warn("Failed to prepare the item help in the background, retrying on the game thread", e);
+            collectedItems = collectItems(ImmutableList.copyOf(itemsCategoryInGameHelpRegistry.getKnownPrefabs()));
+        }
+        pendingItems = null;
+        initialise(collectedItems);
+        if (!deferredChanges.isEmpty() || !deferredRemovals.isEmpty()) {
+            onHelpPrefabsChanged(deferredChanges, deferredRemovals);
+            deferredChanges.clear();
+            deferredRemovals.clear();
+        }
+        if (pendingHyperlink != null) {
+            handleNavigate(pendingHyperlink);
+            pendingHyperlink = null;
+        }
+        return true;
+    }
 
-        // initialize item help entries for all applicable prefabs
-        items = StreamSupport.stream(itemsCategoryInGameHelpRegistry.getKnownPrefabs().spliterator(), false)
-                .map(itemPrefab -> helpEntryFor(itemPrefab, titleRenderStyle))
+    /**
+     * Collects the item help entries for the given prefabs, sorted by display name. This only reads the components of
+     * the given prefabs and does not touch the registry or any UI widgets, so it may be run off the game thread.
+     *
+     * @param prefabs the known prefabs, copied on the game thread.
+     * @return the sorted list of item help entries.
+     */
+    private List<ItemHelpEntry> collectItems(List<Prefab> prefabs) {
+        long start = System.nanoTime();
+        List<ItemHelpEntry> collectedItems = prefabs.stream()
+                .map(this::helpEntryFor)
                 .filter(Objects::nonNull)
-                .sorted(Comparator.comparing(ItemHelpEntry::getDisplayName))
-                .collect(Collectors.toList());
+                .collect(Collectors.toCollection(Lists::newArrayList));
+        collectedItems.sort(ITEM_ORDER);
+        metrics.recordIndexBuild(getCategoryName(), System.nanoTime() - start, collectedItems.size());
+        return collectedItems;
+    }
+
+    /**
+     * Initialises the help category with the given item help entries. The root document and the detailed help
+     * documents are only built when they are shown.
+     *
+     * @param collectedItems the sorted list of item help entries.
+     */
+    private void initialise(List<ItemHelpEntry> collectedItems) {
+        items = collectedItems;
+        itemHyperlinks = Collections.unmodifiableList(Lists.transform(items, ItemHelpEntry::getHyperlink));
+        contentRevision++;
+        initialised = true;
+
+        itemsByHyperlink = Maps.newHashMapWithExpectedSize(items.size());
+        for (ItemHelpEntry item : items) {
+            itemsByHyperlink.putIfAbsent(item.getHyperlink(), item);
+        }
+        documentCache.clear();
+        rootDocument = null;
+    }
+
+    /**
+     * Applies changed help prefabs to the sorted item list, the hyperlink index and the cached documents, without
+     * collecting the entries of all prefabs again.
+     *
+     * @param changed prefabs that were added, reloaded or newly registered for help.
+     * @param removed prefabs that were disposed.
+     */
+    @Override
+    public void onHelpPrefabsChanged(Collection<Prefab> changed, Collection<Prefab> removed) {
+        if (!initialised) {
+            if (pendingItems != null) {
+                // the warm-up may have collected the prefabs before they changed
+                deferredChanges.addAll(changed);
+                deferredRemovals.addAll(removed);
+            }
+            return;
+        }
+
+        for (Prefab prefab : removed) {
+            removeEntry(prefab.getName());
+        }
+        for (Prefab prefab : changed) {
+            removeEntry(prefab.getName());
+            if (prefab.hasComponent(ItemHelpComponent.class)
+                    || Iterables.contains(itemsCategoryInGameHelpRegistry.getKnownPrefabs(), prefab)) {
+                ItemHelpEntry entry = helpEntryFor(prefab);
+                if (entry != null) {
+                    insertEntry(entry);
+                }
+            }
+        }
+
+        contentRevision++;
+        rootDocument = null;
+        if (currentHyperlink != null) {
+            // show the updated document, or go back to the root page if the item is gone
+            ItemHelpEntry current = itemsByHyperlink.get(currentHyperlink);
+            if (current != null) {
+                currentDocument = getCachedDocument(current);
+            } else {
+                resetNavigation();
+            }
+        }
+    }
+
+    /**
+     * Removes the entry with the given hyperlink from the sorted item list, the hyperlink index and the cache.
+     *
+     * @param hyperlink the hyperlink of the entry to remove
+     */
+    private void removeEntry(String hyperlink) {
+        documentCache.invalidate(hyperlink);
+        ItemHelpEntry entry = itemsByHyperlink.remove(hyperlink);
+        if (entry != null) {
+            items.remove(entry);
+        }
+    }
+
+    /**
+     * Inserts an entry into the sorted item list and the hyperlink index.
+     *
+     * @param entry the entry to insert
+     */
+    private void insertEntry(ItemHelpEntry entry) {
+        int position = Collections.binarySearch(items, entry, ITEM_ORDER);
+        items.add(position < 0 ? -position - 1 : position, entry);
+        itemsByHyperlink.put(entry.getHyperlink(), entry);
+    }
 
+    /**
+     * Creates the root document listing all items. Every item is laid out in a single flow paragraph, so the grid
+     * mode is preferred for large numbers of items.
+     *
+     * @return the root document.
+     */
+    private HTMLDocument buildRootDocument() {
         // add all item help entries sorted in alphabetical order to the document
         FlowParagraphData itemListParagraph = new FlowParagraphData(null);
         items.stream()
@@ -103,8 +404,20 @@ public class ItemsCategory implements HelpCategory {
                 .forEach(itemListParagraph::append);
 
         //Create the root document and add the item list paragraph that contains the items
-        rootDocument = new HTMLDocument(null);
-        rootDocument.addParagraph(itemListParagraph);
+        HTMLDocument document = new HTMLDocument(null);
+        document.addParagraph(itemListParagraph);
+        return document;
+    }
+
+    /**
+     * @return the hyperlinks of all items if the root page is shown, null otherwise.
+     */
+    @Override
+    public List<String> getItemGrid() {
+        if (!ensureInitialised() || currentDocument != null) {
+            return null;
+        }
+        return itemHyperlinks;
     }
 
     /**
@@ -114,58 +427,201 @@ public class ItemsCategory implements HelpCategory {
      * @return a square widget of the item's icon or preview
      */
     private FlowRenderable createItemWidget(String simpleUri) {
-        return new WidgetFlowRenderable(new ItemWidget(simpleUri), 48, 48, simpleUri);
+        return new WidgetFlowRenderable(itemWidgetCache.get(simpleUri), 48, 48, simpleUri);
     }
 
     /**
      * Create a help entry for the given prefab.
      * <p>
-     * The help entry contains the detailed help rendered as {@link HTMLDocument} as well as the hyperlink for
-     * identification and the display name (for sorting in the UI).
+     * The help entry only holds the hyperlink for identification and the display name (for sorting in the UI). The
+     * detailed help document is created by {@link #buildDocument(ItemHelpEntry)} when it is first needed.
+     *
+     * @param itemPrefab the item prefab to create a help entry for
+     * @return an {@link ItemHelpEntry} for the prefab, or {@code null} if it does not match this category
+     */
+    private ItemHelpEntry helpEntryFor(Prefab itemPrefab) {
+        if (belongsToCategory(itemPrefab)) {
+            String displayName =
+                    Optional.ofNullable(itemPrefab.getComponent(DisplayNameComponent.class))
+                            .map(c -> c.name)
+                            .orElse(itemPrefab.getName());
+
+            return new ItemHelpEntry(itemPrefab.getName(), displayName, itemPrefab);
+        }
+        return null;
+    }
+
+    /**
+     * Check whether the given prefab is shown in this category.
+     *
+     * @param itemPrefab the item prefab
+     * @return true if the prefab's item help names this category, or the prefab has no item help component
+     */
+    private boolean belongsToCategory(Prefab itemPrefab) {
+        ItemHelpComponent helpComponent = itemPrefab.getComponent(ItemHelpComponent.class);
+        String category = helpComponent != null ? helpComponent.getCategory() : DEFAULT_CATEGORY;
+        return getCategoryName().equalsIgnoreCase(category);
+    }
+
+    /**
+     * Check whether a hyperlink names an item of this category, without waiting for the item help entries.
+     *
+     * @param hyperlink the hyperlink to check
+     * @return true if the hyperlink names a known prefab that is shown in this category
+     */
+    private boolean isItemHyperlink(String hyperlink) {
+        Iterable<Prefab> knownPrefabs = itemsCategoryInGameHelpRegistry.getKnownPrefabs();
+        Optional<Prefab> prefab;
+        if (helpPrefabIndex != null) {
+            prefab = helpPrefabIndex.getPrefab(hyperlink).filter(p -> Iterables.contains(knownPrefabs, p));
+        } else {
+            prefab = Streams.stream(knownPrefabs).filter(p -> p.getName().equals(hyperlink)).findFirst();
+        }
+        return prefab.filter(this::belongsToCategory).isPresent();
+    }
+
+    /**
+     * Create the detailed help document for the given help entry.
      * <p>
      * The detailed help document consists of a title paragraph with the item's image and display name, followed by
      * paragraphs derived from associated {@link HelpItem}s. These subsections are sorted alphabetically by their
      * title.
      *
-     * @param itemPrefab the item prefab to create a help entry for
-     * @param titleRenderStyle the render style to use for paragraph titles
-     * @return an {@link ItemHelpEntry} for the prefab, or {@code null} if it does not match this category
+     * @param entry the help entry of the item
+     * @return the detailed help document for the item
      */
-    private ItemHelpEntry helpEntryFor(Prefab itemPrefab, TextRenderStyle titleRenderStyle) {
+    private DocumentData buildDocument(ItemHelpEntry entry) {
+        long start = System.nanoTime();
+        List<ParagraphData> allParagraphs = collectHelpItems(entry).stream()
+                .map(HelpItem::getHelpSection)
+                .flatMap(List::stream)
+                .collect(Collectors.toList());
+
+        HTMLDocument documentData = new HTMLDocument(null);
+        documentData.addParagraph(
+                getTitleParagraph(entry.getHyperlink(), entry.getDisplayName(), HelpRenderStyles.getTitleStyle()));
+        documentData.addParagraphs(allParagraphs);
+        metrics.recordDocumentBuild(getCategoryName(), System.nanoTime() - start, allParagraphs.size() + 1);
+        return documentData;
+    }
+
+    /**
+     * Builds and caches the detailed help document of an item ahead of time. Nothing is done until the item help
+     * entries have been collected, so a prefetch never collects them on the game thread.
+     *
+     * @param hyperlink the hyperlink of the item
+     * @return true if a document was built
+     */
+    @Override
+    public boolean prefetch(String hyperlink) {
+        boolean ready = initialised || (pendingItems != null && pendingItems.isDone());
+        if (!ready || !ensureInitialised() || documentCache.contains(hyperlink)) {
+            return false;
+        }
+        ItemHelpEntry entry = itemsByHyperlink.get(hyperlink);
+        if (entry == null) {
+            return false;
+        }
+        documentCache.put(hyperlink, buildDocument(entry));
+        return true;
+    }
+
+    /**
+     * Drops the cached detailed help documents and the root document, releasing the item widgets they hold. The
+     * current document is kept, as it is shown when the help screen is opened again.
+     */
+    @Override
+    public void releaseCachedDocuments() {
+        documentCache.clear();
+        rootDocument = null;
+    }
+
+    /**
+     * Gets the detailed help document of the given entry from the cache, building it if it is not cached.
+     *
+     * @param entry the help entry of the item
+     * @return the detailed help document for the item
+     */
+    private DocumentData getCachedDocument(ItemHelpEntry entry) {
+        long hits = documentCache.getHits();
+        DocumentData document = documentCache.get(entry.getHyperlink(), () -> buildDocument(entry));
+        metrics.recordCacheLookup(getCategoryName(), documentCache.getHits() != hits);
+        return document;
+    }
+
+    /**
+     * Collect the distinct {@link HelpItem}s associated with the item of the given help entry, sorted by their title.
+     *
+     * @param entry the help entry of the item
+     * @return the help items in the order they are shown in the detailed help document
+     */
+    private List<HelpItem> collectHelpItems(ItemHelpEntry entry) {
+        Prefab itemPrefab = entry.getPrefab();
         ItemHelpComponent helpComponent = itemPrefab.getComponent(ItemHelpComponent.class);
         if (helpComponent == null) {
             helpComponent = new ItemHelpComponent();
             helpComponent.paragraphText.add("An unknown item.");
         }
 
-        if (getCategoryName().equalsIgnoreCase(helpComponent.getCategory())) {
+        // add the ItemHelpComponent from the prefab (or the freshly created one if not present)
+        List<HelpItem> helpItems = Lists.newArrayList(helpComponent);
+        // add all HelpItem components from the prefab
+        Iterables.filter(itemPrefab.iterateComponents(), HelpItem.class).forEach(helpItems::add);
+        // add all HelpItems that have been registered
+        itemsCategoryInGameHelpRegistry.getHelpItems(itemPrefab).forEach(helpItems::add);
 
-            String displayName =
-                    Optional.ofNullable(itemPrefab.getComponent(DisplayNameComponent.class))
-                            .map(c -> c.name)
-                            .orElse(itemPrefab.getName());
-
-            // add the ItemHelpComponent from the prefab (or the freshly created one if not present)
-            List<HelpItem> helpItems = Lists.newArrayList(helpComponent);
-            // add all HelpItem components from the prefab
-            Iterables.filter(itemPrefab.iterateComponents(), HelpItem.class).forEach(helpItems::add);
-            // add all HelpItems that have been registered
-            itemsCategoryInGameHelpRegistry.getHelpItems(itemPrefab).forEach(helpItems::add);
-
-            List<ParagraphData> allParagraphs = helpItems.stream()
-                    .distinct()
-                    .sorted(Comparator.comparing(HelpItem::getTitle))
-                    .map(HelpItem::getHelpSection)
-                    .flatMap(List::stream)
-                    .collect(Collectors.toList());
+        return helpItems.stream()
+                .distinct()
+                .sorted(Comparator.comparing(HelpItem::getTitle))
+                .collect(Collectors.toList());
+    }
 
-            HTMLDocument documentData = new HTMLDocument(null);
-            documentData.addParagraph(getTitleParagraph(itemPrefab.getName(), displayName, titleRenderStyle));
-            documentData.addParagraphs(allParagraphs);
+    /**
+     * Adds the display name, help item titles and paragraph texts of all items to the search index. Help items only
+     * known as parsed paragraphs contribute their title.
+     *
+     * @param index the index to add the content to.
+     * @return false if the item help entries are still being collected in the background.
+     */
+    @Override
+    public boolean indexContent(HelpSearchIndex index) {
+        if (!ensureInitialised()) {
+            return false;
+        }
+        for (ItemHelpEntry entry : items) {
+            String hyperlink = entry.getHyperlink();
+            String displayName = entry.getDisplayName();
+            index.add(hyperlink, displayName, displayName, HelpSearchIndex.NAME_WEIGHT);
+            for (HelpItem helpItem : collectHelpItems(entry)) {
+                index.add(hyperlink, displayName, helpItem.getTitle(), HelpSearchIndex.TITLE_WEIGHT);
+                for (String paragraph : getParagraphText(helpItem)) {
+                    index.add(hyperlink, displayName, paragraph, HelpSearchIndex.TEXT_WEIGHT);
+                }
+            }
+        }
+        return true;
+    }
 
-            return new ItemHelpEntry(itemPrefab.getName(), displayName, documentData);
+    /**
+     * @param helpItem a help item of an item.
+     * @return the paragraph texts of the help item, or an empty list if it is only known as parsed paragraphs.
+     */
+    private static List<String> getParagraphText(HelpItem helpItem) {
+        if (helpItem instanceof ItemHelpComponent) {
+            return ((ItemHelpComponent) helpItem).paragraphText;
         }
-        return null;
+        if (helpItem instanceof GeneralHelpComponent) {
+            return ((GeneralHelpComponent) helpItem).paragraphText;
+        }
+        return Collections.emptyList();
+    }
+
+    /**
+     * @return the revision of the item help entries.
+     */
+    @Override
+    public int getContentRevision() {
+        return contentRevision;
     }
 
     /**
@@ -174,11 +630,12 @@ public class ItemsCategory implements HelpCategory {
      * @param prefabName the prefab name, i.e., resource urn for the item
      * @param displayName the human readable name to display
      * @param renderStyle the render style for the title text
-     * @return a paragraph with the item's icon on the left followed by the display name
+     * @return a paragraph with the item's icon on the left followed by the display name; the icon is the widget the
+     *     item grid shows, which {@link ItemWidgetCache} explains is safe to share
      */
     private ParagraphData getTitleParagraph(String prefabName, String displayName, TextRenderStyle renderStyle) {
         FlowParagraphData paragraph = new FlowParagraphData(null);
-        paragraph.append(new WidgetFlowRenderable(new ItemWidget(prefabName), 48, 48, prefabName));
+        paragraph.append(new WidgetFlowRenderable(itemWidgetCache.get(prefabName), 48, 48, prefabName));
         paragraph.append(new TextFlowRenderable(displayName, renderStyle, null));
         return paragraph;
     }
@@ -200,44 +657,67 @@ public class ItemsCategory implements HelpCategory {
      */
     @Override
     public DocumentData getDocumentData() {
-        if (rootDocument == null) {
-            initialise();
+        if (!ensureInitialised()) {
+            return getPlaceholderDocument();
         }
         if (currentDocument == null) {
+            if (rootDocument == null) {
+                rootDocument = buildRootDocument();
+            }
             return rootDocument;
         } else {
             return currentDocument;
         }
     }
 
+    /**
+     * @return the document shown while the warm-up is still running.
+     */
+    private DocumentData getPlaceholderDocument() {
+        if (placeholderDocument == null) {
+            placeholderDocument = new HTMLDocument(null);
+            placeholderDocument.addParagraph(HTMLLikeParser.parseHTMLLikeParagraph(null, "Loading help..."));
+        }
+        return placeholderDocument;
+    }
+
     /**
      * Goes to the root document.
      */
     @Override
     public void resetNavigation() {
         currentDocument = null;
+        currentHyperlink = null;
+        pendingHyperlink = null;
     }
 
     /**
      * Goes to the document referenced by hyperlink.
+     * <p>
+     * If the item help entries are still being collected in the background, a hyperlink to a known item of this
+     * category is remembered and opened once they are ready. Other hyperlinks are left to the other categories without
+     * initialising this one.
      *
      * @param hyperlink the link to the document.
-     * @return true if the link is found. false if otherwise.
+     * @return true if the link is found or pending. false if otherwise.
      */
     @Override
     public boolean handleNavigate(String hyperlink) {
-        if (items.size() == 0) {
-            // handle the case where we navigate before we have shown the screen.  There is probably a better way to
-            // do this.
-            initialise();
+        // hyperlinks of other categories must not initialise this one on the game thread
+        if (!initialised && !isItemHyperlink(hyperlink)) {
+            return false;
+        }
+        if (!ensureInitialised()) {
+            pendingHyperlink = hyperlink;
+            return true;
         }
 
-        Optional<DocumentData> target =
-                items.stream().filter(item -> item.getHyperlink().equals(hyperlink)).findFirst().map(ItemHelpEntry::getDocumentData);
+        ItemHelpEntry target = itemsByHyperlink.get(hyperlink);
 
         //goes to document referenced by hyperlink if it is found
-        if (target.isPresent()) {
-            currentDocument = target.get();
+        if (target != null) {
+            currentDocument = getCachedDocument(target);
+            currentHyperlink = target.getHyperlink();
             return true;
         } else {
             return false;
@@ -0,0 +1,247 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.inGameHelp.search;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+
+/**
+ * Inverted index over the text of all help pages.
+ * <p>
+ * Every help page is identified by the hyperlink that opens it. Text is split into lower case tokens, and each token
+ * maps to the pages it occurs in together with a weight depending on where it occurs. Query terms are matched as
+ * prefixes, so results can be updated on every keystroke. Consecutive queries that only extend the previous one reuse
+ * the previous matches instead of going back to the full index.
+ */
+public class HelpSearchIndex {
+    /** Weight of tokens in the display name of a help page. */
+    public static final float NAME_WEIGHT = 4f;
+
+    /** Weight of tokens in the title of a help section. */
+    public static final float TITLE_WEIGHT = 2f;
+
+    /** Weight of tokens in the text of a help section. */
+    public static final float TEXT_WEIGHT = 1f;
+
+    private static final Pattern MARKUP = Pattern.compile("<[^>]*>");
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    /** Orders results by descending score, then by title, with untitled results last. */
+    private static final Comparator<Result> RESULT_ORDER = Comparator.comparingDouble(Result::getScore).reversed()
+            .thenComparing(Result::getTitle, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    /** The indexed pages, by page id. */
+    private final List<Page> pages = Lists.newArrayList();
+
+    /** Page ids by the hyperlink of the page. */
+    private final Map<String, Integer> pageIds = Maps.newHashMap();
+
+    /** Maps each token to the weight of the token per page id. */
+    private final NavigableMap<String, Map<Integer, Float>> postings = new TreeMap<>();
+
+    /** The matches of the terms of the previous query, in query order. */
+    private List<TermMatch> previousMatches = Lists.newArrayList();
+
+    /**
+     * Adds text to the searchable content of a help page.
+     *
+     * @param hyperlink the hyperlink that opens the help page
+     * @param title the title to show for the help page in search results
+     * @param text the text to index; HTML-like markup is ignored
+     * @param weight the weight of the text, e.g., {@link #TEXT_WEIGHT}
+     */
+    public void add(String hyperlink, String title, String text, float weight) {
+        if (text == null) {
+            return;
+        }
+        Integer pageId = pageIds.get(hyperlink);
+        if (pageId == null) {
+            pageId = pages.size();
+            pages.add(new Page(hyperlink, title));
+            pageIds.put(hyperlink, pageId);
+        }
+        for (String token : tokenize(MARKUP.matcher(text).replaceAll(" "))) {
+            postings.computeIfAbsent(token, t -> Maps.newHashMap()).merge(pageId, weight, Float::sum);
+        }
+        previousMatches.clear();
+    }
+
+    /**
+     * Removes all indexed content.
+     */
+    public void clear() {
+        pages.clear();
+        pageIds.clear();
+        postings.clear();
+        previousMatches.clear();
+    }
+
+    /**
+     * Finds the help pages matching all terms of the query. Each term matches all tokens it is a prefix of.
+     *
+     * @param query the query as typed by the player
+     * @param maxResults the maximum number of results to return
+     * @return the matching help pages, best match first
+     */
+    public List<Result> search(String query, int maxResults) {
+        List<String> terms = tokenize(query);
+        List<TermMatch> matches = Lists.newArrayListWithCapacity(terms.size());
+        for (int i = 0; i < terms.size(); i++) {
+            TermMatch previous = i < previousMatches.size() ? previousMatches.get(i) : null;
+            matches.add(match(terms.get(i), previous));
+        }
+        previousMatches = matches;
+        if (matches.isEmpty()) {
+            return Lists.newArrayList();
+        }
+
+        // start with the most selective term and only keep pages matched by all terms
+        TermMatch smallest = matches.stream().min(Comparator.comparingInt(m -> m.scores.size())).get();
+        List<Result> results = Lists.newArrayList();
+        for (Map.Entry<Integer, Float> candidate : smallest.scores.entrySet()) {
+            float score = 0;
+            for (TermMatch match : matches) {
+                Float termScore = match.scores.get(candidate.getKey());
+                if (termScore == null) {
+                    score = 0;
+                    break;
+                }
+                score += termScore;
+            }
+            if (score > 0) {
+                Page page = pages.get(candidate.getKey());
+                results.add(new Result(page.hyperlink, page.title, score));
+            }
+        }
+        results.sort(RESULT_ORDER);
+        return results.size() > maxResults ? Lists.newArrayList(results.subList(0, maxResults)) : results;
+    }
+
+    /**
+     * Combines the results of searches in several indexes, e.g., one index per help category, into a single ranking.
+     *
+     * @param results the results of each index
+     * @param maxResults the maximum number of results to return
+     * @return the best results of all indexes, best match first
+     */
+    public static List<Result> merge(Iterable<List<Result>> results, int maxResults) {
+        List<Result> merged = Lists.newArrayList();
+        results.forEach(merged::addAll);
+        merged.sort(RESULT_ORDER);
+        return merged.size() > maxResults ? Lists.newArrayList(merged.subList(0, maxResults)) : merged;
+    }
+
+    /**
+     * Matches a single query term, narrowing down the previous match of the term if the term only got longer.
+     *
+     * @param term the query term
+     * @param previous the match of the term at the same position in the previous query, or null
+     * @return the tokens starting with the term and the summed weights per page
+     */
+    private TermMatch match(String term, TermMatch previous) {
+        if (previous != null && previous.term.equals(term)) {
+            return previous;
+        }
+        Iterable<String> candidates;
+        if (previous != null && term.startsWith(previous.term)) {
+            candidates = previous.tokens;
+        } else {
+            candidates = postings.subMap(term, true, term + Character.MAX_VALUE, false).keySet();
+        }
+
+        TermMatch match = new TermMatch(term);
+        for (String token : candidates) {
+            if (token.startsWith(term)) {
+                match.tokens.add(token);
+                postings.get(token).forEach((pageId, weight) -> match.scores.merge(pageId, weight, Float::sum));
+            }
+        }
+        return match;
+    }
+
+    /**
+     * Splits text into lower case tokens.
+     *
+     * @param text the text to split
+     * @return the non-empty tokens of the text
+     */
+    private static List<String> tokenize(String text) {
+        List<String> tokens = Lists.newArrayList();
+        for (String token : TOKEN_SEPARATOR.split(text.toLowerCase(Locale.ROOT))) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * A help page that can be found by searching.
+     */
+    private static final class Page {
+        private final String hyperlink;
+        private final String title;
+
+        private Page(String hyperlink, String title) {
+            this.hyperlink = hyperlink;
+            this.title = title;
+        }
+    }
+
+    /**
+     * The tokens matching a query term and the summed weights of these tokens per page.
+     */
+    private static final class TermMatch {
+        private final String term;
+        private final List<String> tokens = Lists.newArrayList();
+        private final Map<Integer, Float> scores = Maps.newHashMap();
+
+        private TermMatch(String term) {
+            this.term = term;
+        }
+    }
+
+    /**
+     * A help page matching a search query.
+     */
+    public static final class Result {
+        private final String hyperlink;
+        private final String title;
+        private final float score;
+
+        Result(String hyperlink, String title, float score) {
+            this.hyperlink = hyperlink;
+            this.title = title;
+            this.score = score;
+        }
+
+        /**
+         * @return the hyperlink that opens the help page.
+         */
+        public String getHyperlink() {
+            return hyperlink;
+        }
+
+        /**
+         * @return the title of the help page.
+         */
+        public String getTitle() {
+            return title;
+        }
+
+        /**
+         * @return how well the help page matches the query; higher is better.
+         */
+        public float getScore() {
+            return score;
+        }
+    }
+}
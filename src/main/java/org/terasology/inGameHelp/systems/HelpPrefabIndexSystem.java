@@ -0,0 +1,325 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.inGameHelp.systems;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Iterables;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import org.terasology.engine.entitySystem.prefab.Prefab;
+import org.terasology.engine.entitySystem.prefab.PrefabManager;
+import org.terasology.engine.entitySystem.systems.BaseComponentSystem;
+import org.terasology.engine.entitySystem.systems.RegisterSystem;
+import org.terasology.engine.entitySystem.systems.UpdateSubscriberSystem;
+import org.terasology.engine.registry.In;
+import org.terasology.engine.registry.Share;
+import org.terasology.gestalt.assets.ResourceUrn;
+import org.terasology.inGameHelp.HelpPrefabIndex;
+import org.terasology.inGameHelp.components.GeneralHelpComponent;
+import org.terasology.inGameHelpAPI.components.ItemHelpComponent;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * System that finds all help prefabs by asking the prefab manager for the loaded prefabs with help components, and
+ * keeps track of changes to them.
+ * <p>
+ * The engine reloads prefabs in place and does not tell modules about it, so the loaded prefabs are checked against
+ * the index in the background while change checks are active, i.e., while the help screen is open: a check starts
+ * when they are activated and then every few seconds, compares a bounded number of prefabs per frame and applies
+ * everything it found in a single update.
+ */
+@RegisterSystem
+@Share(HelpPrefabIndex.class)
+public class HelpPrefabIndexSystem extends BaseComponentSystem implements HelpPrefabIndex, UpdateSubscriberSystem {
+    /** The general help of this module, which is always shown first. */
+    private static final ResourceUrn GENERAL_HELP_URN = new ResourceUrn("InGameHelp:GeneralHelp");
+
+    /** Orders general help prefabs by URN, with the general help of this module first. */
+    private static final Comparator<Prefab> GENERAL_HELP_ORDER =
+            Comparator.comparing((Prefab prefab) -> !GENERAL_HELP_URN.equals(prefab.getUrn()))
+                    .thenComparing(Prefab::getName);
+
+    /** Seconds between the end of a check for changed prefabs and the start of the next one. */
+    static final float CHANGE_CHECK_INTERVAL = 5f;
+
+    /** Number of prefabs compared against the index per frame while checking for changed prefabs. */
+    static final int CHANGE_CHECK_BATCH_SIZE = 256;
+
+    @In
+    PrefabManager prefabManager;
+
+    /** The item help component of every prefab with item help, as it was when the prefab was indexed. */
+    private final Map<Prefab, ItemHelpComponent> itemHelpComponents = Maps.newLinkedHashMap();
+
+    /** The general help component of every prefab with general help, as it was when the prefab was indexed. */
+    private final Map<Prefab, GeneralHelpComponent> generalHelpComponents = Maps.newHashMap();
+
+    /** All indexed prefabs and prefabs passed to {@link #update(Collection)}, by name. */
+    private final Map<String, Prefab> prefabsByName = Maps.newHashMap();
+
+    /** All prefabs with a general help component, in display order. */
+    private List<Prefab> generalHelpPrefabs = Collections.emptyList();
+
+    /** Whether the index has been built. */
+    private volatile boolean built;
+
+    /** Revision of the indexed prefabs, incremented on every change. */
+    private volatile int revision;
+
+    /** Revision of the general help prefabs, incremented only when general help changes. */
+    private volatile int generalHelpRevision;
+
+    private final List<ChangeListener> listeners = new CopyOnWriteArrayList<>();
+
+    /** Whether the loaded prefabs are checked for changes. */
+    private boolean changeChecksActive;
+
+    /** Seconds until the next check for changed prefabs starts. */
+    private float timeUntilChangeCheck;
+
+    /** The prefabs of the running check for changed prefabs, or null if no check is running. */
+    private List<Prefab> changeCheckPrefabs;
+
+    /**
+     * Number of prefabs of the running check that were listed by the prefab manager. The indexed prefabs after them
+     * are only checked for being disposed.
+     */
+    private int changeCheckListed;
+
+    /** Position of the running check in {@link #changeCheckPrefabs}. */
+    private int changeCheckPosition;
+
+    /** Prefabs found to have changed by the running check. */
+    private final Set<Prefab> changeCheckFound = new LinkedHashSet<>();
+
+    /**
+     * @return all prefabs with an item help component.
+     */
+    @Override
+    public Collection<Prefab> getItemHelpPrefabs() {
+        ensureBuilt();
+        return Collections.unmodifiableSet(itemHelpComponents.keySet());
+    }
+
+    /**
+     * @return all prefabs with a general help component, this module's general help first.
+     */
+    @Override
+    public List<Prefab> getGeneralHelpPrefabs() {
+        ensureBuilt();
+        return generalHelpPrefabs;
+    }
+
+    /**
+     * @param name the name of the prefab.
+     * @return the prefab, if it has help or was passed to {@link #update(Collection)}.
+     */
+    @Override
+    public Optional<Prefab> getPrefab(String name) {
+        ensureBuilt();
+        synchronized (this) {
+            return Optional.ofNullable(prefabsByName.get(name));
+        }
+    }
+
+    /**
+     * @return the revision of the indexed prefabs.
+     */
+    @Override
+    public int getRevision() {
+        ensureBuilt();
+        return revision;
+    }
+
+    /**
+     * @return the revision of the general help prefabs.
+     */
+    @Override
+    public int getGeneralHelpRevision() {
+        ensureBuilt();
+        return generalHelpRevision;
+    }
+
+    /**
+     * Re-evaluates the given prefabs and notifies the listeners about them.
+     *
+     * @param prefabs the prefabs that changed.
+     */
+    @Override
+    public void update(Collection<Prefab> prefabs) {
+        if (prefabs.isEmpty()) {
+            return;
+        }
+        ensureBuilt();
+        List<Prefab> changed = Lists.newArrayListWithCapacity(prefabs.size());
+        List<Prefab> removed = Lists.newArrayList();
+        synchronized (this) {
+            boolean generalHelpChanged = false;
+            for (Prefab prefab : prefabs) {
+                generalHelpChanged |= generalHelpComponents.containsKey(prefab);
+                itemHelpComponents.remove(prefab);
+                generalHelpComponents.remove(prefab);
+                if (prefab.isDisposed()) {
+                    prefabsByName.remove(prefab.getName(), prefab);
+                    removed.add(prefab);
+                } else {
+                    generalHelpChanged |= index(prefab);
+                    prefabsByName.put(prefab.getName(), prefab);
+                    changed.add(prefab);
+                }
+            }
+            if (generalHelpChanged) {
+                generalHelpPrefabs = ImmutableList.sortedCopyOf(GENERAL_HELP_ORDER, generalHelpComponents.keySet());
+                generalHelpRevision++;
+            }
+            revision++;
+        }
+        for (ChangeListener listener : listeners) {
+            listener.onHelpPrefabsChanged(changed, removed);
+        }
+    }
+
+    /**
+     * @param active true to check for changed prefabs, starting right away.
+     */
+    @Override
+    public void setChangeChecksActive(boolean active) {
+        if (active == changeChecksActive) {
+            return;
+        }
+        changeChecksActive = active;
+        timeUntilChangeCheck = 0;
+        changeCheckPrefabs = null;
+        changeCheckFound.clear();
+    }
+
+    /**
+     * Continues the background check for prefabs that were reloaded, added or disposed since they were indexed, and
+     * starts a new one every few seconds. Nothing is checked while change checks are inactive or before the index has
+     * been built.
+     *
+     * @param delta the time since the last update.
+     */
+    @Override
+    public void update(float delta) {
+        if (!changeChecksActive || !built) {
+            return;
+        }
+        if (changeCheckPrefabs == null) {
+            timeUntilChangeCheck -= delta;
+            if (timeUntilChangeCheck > 0) {
+                return;
+            }
+            // querying the prefabs with help components would filter all loaded prefabs within this frame, whereas
+            // listing them is a plain copy and the comparison is spread over the following frames
+            changeCheckPrefabs = Lists.newArrayList(prefabManager.listPrefabs());
+            changeCheckListed = changeCheckPrefabs.size();
+            synchronized (this) {
+                // disposed prefabs are no longer listed by the prefab manager, so the indexed ones are checked as well
+                changeCheckPrefabs.addAll(itemHelpComponents.keySet());
+                changeCheckPrefabs.addAll(generalHelpComponents.keySet());
+            }
+            changeCheckPosition = 0;
+        }
+
+        int end = Math.min(changeCheckPosition + CHANGE_CHECK_BATCH_SIZE, changeCheckPrefabs.size());
+        for (; changeCheckPosition < end; changeCheckPosition++) {
+            Prefab prefab = changeCheckPrefabs.get(changeCheckPosition);
+            boolean listed = changeCheckPosition < changeCheckListed;
+            if ((listed || prefab.isDisposed()) && hasChanged(prefab)) {
+                changeCheckFound.add(prefab);
+            }
+        }
+        if (changeCheckPosition == changeCheckPrefabs.size()) {
+            changeCheckPrefabs = null;
+            timeUntilChangeCheck = CHANGE_CHECK_INTERVAL;
+            List<Prefab> found = Lists.newArrayList(changeCheckFound);
+            changeCheckFound.clear();
+            update(found);
+        }
+    }
+
+    /**
+     * Checks whether a prefab differs from the index. The engine reloads prefabs in place, replacing their components,
+     * so comparing the help components by identity finds reloaded prefabs as well as prefabs that gained or lost help.
+     *
+     * @param prefab the prefab to check.
+     * @return true if the prefab has to be updated in the index.
+     */
+    private synchronized boolean hasChanged(Prefab prefab) {
+        if (prefab.isDisposed()) {
+            return itemHelpComponents.containsKey(prefab) || generalHelpComponents.containsKey(prefab);
+        }
+        return prefab.getComponent(ItemHelpComponent.class) != itemHelpComponents.get(prefab)
+                || prefab.getComponent(GeneralHelpComponent.class) != generalHelpComponents.get(prefab);
+    }
+
+    /**
+     * @param listener the listener to notify about changes.
+     */
+    @Override
+    public void subscribe(ChangeListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Builds the index on first use. Only prefabs already loaded by the prefab manager are inspected, so no prefab
+     * asset is loaded just for the help system. Prefabs without help are not visited at all; the items registry passes
+     * the ones it knows about to {@link #update(Collection)}.
+     */
+    private void ensureBuilt() {
+        if (built) {
+            return;
+        }
+        synchronized (this) {
+            if (built) {
+                return;
+            }
+            for (Prefab prefab : listHelpPrefabs()) {
+                index(prefab);
+            }
+            generalHelpPrefabs = ImmutableList.sortedCopyOf(GENERAL_HELP_ORDER, generalHelpComponents.keySet());
+            revision++;
+            generalHelpRevision++;
+            built = true;
+        }
+    }
+
+    /**
+     * @return the loaded prefabs with an item or general help component. A prefab with both is listed twice.
+     */
+    private Iterable<Prefab> listHelpPrefabs() {
+        return Iterables.concat(prefabManager.listPrefabs(ItemHelpComponent.class),
+                prefabManager.listPrefabs(GeneralHelpComponent.class));
+    }
+
+    /**
+     * Adds a prefab to the index if it has help components.
+     *
+     * @param prefab the prefab to index.
+     * @return true if the prefab has general help.
+     */
+    private boolean index(Prefab prefab) {
+        ItemHelpComponent itemHelpComponent = prefab.getComponent(ItemHelpComponent.class);
+        if (itemHelpComponent != null) {
+            itemHelpComponents.put(prefab, itemHelpComponent);
+            prefabsByName.put(prefab.getName(), prefab);
+        }
+        GeneralHelpComponent generalHelpComponent = prefab.getComponent(GeneralHelpComponent.class);
+        if (generalHelpComponent != null) {
+            generalHelpComponents.put(prefab, generalHelpComponent);
+            prefabsByName.put(prefab.getName(), prefab);
+            return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,109 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.inGameHelp.systems;
+
+import org.terasology.engine.entitySystem.entity.EntityRef;
+import org.terasology.engine.entitySystem.entity.lifecycleEvents.OnChangedComponent;
+import org.terasology.engine.entitySystem.prefab.Prefab;
+import org.terasology.engine.entitySystem.systems.BaseComponentSystem;
+import org.terasology.engine.entitySystem.systems.RegisterMode;
+import org.terasology.engine.entitySystem.systems.RegisterSystem;
+import org.terasology.engine.entitySystem.systems.UpdateSubscriberSystem;
+import org.terasology.engine.logic.players.LocalPlayer;
+import org.terasology.engine.registry.In;
+import org.terasology.engine.registry.Share;
+import org.terasology.gestalt.entitysystem.event.ReceiveEvent;
+import org.terasology.inGameHelp.HelpPrefetcher;
+import org.terasology.inGameHelp.InGameHelpCategoryRegistry;
+import org.terasology.inGameHelp.PrefetchHelpCategory;
+import org.terasology.inGameHelpAPI.systems.HelpCategory;
+import org.terasology.module.inventory.components.SelectedInventorySlotComponent;
+import org.terasology.module.inventory.systems.InventoryUtils;
+
+import java.util.Optional;
+
+/**
+ * System that builds the help document of the item the player is likely to look up next, i.e., the item under the
+ * mouse in the help screen's item grid or the item selected in the inventory.
+ * <p>
+ * Prefetching has low priority: a request only starts once it has been pending for a short while, so moving the mouse
+ * across the grid or scrolling through the toolbar does not build every document on the way. At most one document is
+ * built per frame, and none on frames that already took too long. A newer request replaces a pending one.
+ */
+@RegisterSystem(RegisterMode.CLIENT)
+@Share(HelpPrefetcher.class)
+public class HelpPrefetchSystem extends BaseComponentSystem implements UpdateSubscriberSystem, HelpPrefetcher {
+    /** How long a request has to be pending before it is started, in seconds. */
+    private static final float SETTLE_TIME = 0.15f;
+
+    /** Frames that took longer than this, in seconds, are not extended by a prefetch. */
+    private static final float SLOW_FRAME_TIME = 1f / 30;
+
+    @In
+    InGameHelpCategoryRegistry categoryRegistry;
+    @In
+    LocalPlayer localPlayer;
+
+    /** The hyperlink of the pending request, or null if there is none. */
+    private String pendingHyperlink;
+
+    /** How long the pending request has been waiting, in seconds. */
+    private float pendingTime;
+
+    @Override
+    public void prefetch(String hyperlink) {
+        if (!hyperlink.equals(pendingHyperlink)) {
+            pendingHyperlink = hyperlink;
+            pendingTime = 0;
+        }
+    }
+
+    @Override
+    public void cancelPrefetch() {
+        pendingHyperlink = null;
+    }
+
+    /**
+     * Starts the pending request once it has settled, unless the last frame was already slow.
+     *
+     * @param delta the time since the last update, in seconds.
+     */
+    @Override
+    public void update(float delta) {
+        if (pendingHyperlink == null) {
+            return;
+        }
+        pendingTime += delta;
+        if (pendingTime < SETTLE_TIME || delta > SLOW_FRAME_TIME) {
+            return;
+        }
+
+        String hyperlink = pendingHyperlink;
+        pendingHyperlink = null;
+        Optional<HelpCategory> owner = categoryRegistry.getCategoryForHyperlink(hyperlink);
+        if (owner.isPresent() && owner.get() instanceof PrefetchHelpCategory) {
+            ((PrefetchHelpCategory) owner.get()).prefetch(hyperlink);
+        }
+    }
+
+    /**
+     * Prefetches the help of the item the local player selected in their inventory.
+     *
+     * @param event the change event.
+     * @param character the character whose selected slot changed.
+     * @param selectedSlot the selected inventory slot.
+     */
+    @ReceiveEvent
+    public void onSelectedSlotChanged(OnChangedComponent event, EntityRef character,
+                                      SelectedInventorySlotComponent selectedSlot) {
+        if (!character.equals(localPlayer.getCharacterEntity())) {
+            return;
+        }
+        Prefab prefab = InventoryUtils.getItemAt(character, selectedSlot.slot).getParentPrefab();
+        if (prefab != null) {
+            prefetch(prefab.getName());
+        } else {
+            cancelPrefetch();
+        }
+    }
+}
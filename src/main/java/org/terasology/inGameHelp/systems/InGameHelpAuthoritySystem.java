@@ -0,0 +1,31 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.inGameHelp.systems;
+
+import org.terasology.engine.entitySystem.entity.EntityRef;
+import org.terasology.engine.entitySystem.systems.BaseComponentSystem;
+import org.terasology.engine.entitySystem.systems.RegisterMode;
+import org.terasology.engine.entitySystem.systems.RegisterSystem;
+import org.terasology.gestalt.entitysystem.event.ReceiveEvent;
+import org.terasology.inGameHelp.components.HasBeenHelpedComponent;
+import org.terasology.inGameHelp.event.HasBeenHelpedMigratedEvent;
+
+/**
+ * System that applies changes to the help state of characters on the authority.
+ */
+@RegisterSystem(RegisterMode.AUTHORITY)
+public class InGameHelpAuthoritySystem extends BaseComponentSystem {
+
+    /**
+     * Removes the legacy {@link HasBeenHelpedComponent} from a character whose client has migrated it to its
+     * client-local onboarding state.
+     *
+     * @param event the migration event.
+     * @param character the character the component was migrated from.
+     */
+    @SuppressWarnings("deprecation")
+    @ReceiveEvent(components = HasBeenHelpedComponent.class)
+    public void onHasBeenHelpedMigrated(HasBeenHelpedMigratedEvent event, EntityRef character) {
+        character.removeComponent(HasBeenHelpedComponent.class);
+    }
+}
@@ -2,11 +2,14 @@
 // SPDX-License-Identifier: Apache-2.0
 package org.terasology.inGameHelp.systems;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import org.terasology.engine.core.SimpleUri;
+import org.terasology.engine.core.module.SandboxFileManager;
 import org.terasology.engine.entitySystem.entity.EntityRef;
 import org.terasology.engine.entitySystem.systems.BaseComponentSystem;
 import org.terasology.engine.entitySystem.systems.RegisterMode;
 import org.terasology.engine.entitySystem.systems.RegisterSystem;
+import org.terasology.engine.entitySystem.systems.UpdateSubscriberSystem;
 import org.terasology.engine.input.InputSystem;
 import org.terasology.engine.logic.players.LocalPlayer;
 import org.terasology.engine.logic.players.event.LocalPlayerInitializedEvent;
@@ -15,11 +18,20 @@ import org.terasology.engine.registry.In;
 import org.terasology.engine.registry.Share;
 import org.terasology.engine.rendering.nui.NUIManager;
 import org.terasology.engine.unicode.EnclosedAlphanumerics;
+import org.terasology.engine.world.WorldProvider;
 import org.terasology.gestalt.entitysystem.event.ReceiveEvent;
+import org.terasology.inGameHelp.InGameHelpCategoryRegistry;
 import org.terasology.inGameHelp.InGameHelpClient;
+import org.terasology.inGameHelp.InGameHelpMetrics;
+import org.terasology.inGameHelp.ItemWidgetCache;
+import org.terasology.inGameHelp.PrefetchHelpCategory;
+import org.terasology.inGameHelp.WarmUpHelpCategory;
 import org.terasology.inGameHelp.components.HasBeenHelpedComponent;
+import org.terasology.inGameHelp.event.HasBeenHelpedMigratedEvent;
+import org.terasology.inGameHelp.ui.HelpRenderStyles;
 import org.terasology.inGameHelp.ui.InGameHelpButton;
 import org.terasology.inGameHelp.ui.InGameHelpScreen;
+import org.terasology.inGameHelpAPI.systems.HelpCategory;
 import org.terasology.input.ButtonState;
 import org.terasology.input.Input;
 import org.terasology.notifications.events.ExpireNotificationEvent;
@@ -28,15 +40,20 @@ import org.terasology.notifications.model.Notification;
 import org.terasology.nui.Color;
 import org.terasology.nui.FontColor;
 
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
 /**
  * Class that handles button events and displays the help screen to the client.
  */
 @RegisterSystem(RegisterMode.CLIENT)
 @Share(InGameHelpClient.class)
-public class InGameHelpClientSystem extends BaseComponentSystem implements InGameHelpClient {
+public class InGameHelpClientSystem extends BaseComponentSystem implements UpdateSubscriberSystem, InGameHelpClient {
 
     private static final String NOTIFICATION_ID = "InGameHelp:firstTime";
 
+    private static final String SCREEN_URI = "InGameHelp:InGameHelpScreen";
+
     /**
      * Reference to the {@link org.terasology.engine.rendering.nui.NUIManager}, used for adding user interace elements and
      * displaying the help screen.
@@ -47,6 +64,25 @@ public class InGameHelpClientSystem extends BaseComponentSystem implements InGam
     InputSystem inputSystem;
     @In
     LocalPlayer localPlayer;
+    @In
+    InGameHelpCategoryRegistry categoryRegistry;
+    @In
+    InGameHelpMetrics metrics;
+    @In
+    SandboxFileManager sandboxFileManager;
+    @In
+    ItemWidgetCache itemWidgetCache;
+    @In
+    WorldProvider worldProvider;
+
+    /** Executor for preparing help content off the game thread. */
+    private ExecutorService warmUpExecutor;
+
+    /** Client-local onboarding state of the player. */
+    private OnboardingStore onboardingStore;
+
+    /** The help screen built during world load and kept for all later opens, or null if it has not been built yet. */
+    private InGameHelpScreen screen;
 
     /**
      * Initialises the system. Adds an UnHelpedNagWidget to the heads up display.
@@ -55,6 +91,40 @@ public class InGameHelpClientSystem extends BaseComponentSystem implements InGam
     public void initialise() {
         super.initialise();
         nuiManager.getHUD().addHUDElement("InGameHelp:UnHelpedNagWidget");
+        warmUpExecutor = Executors.newSingleThreadExecutor(new ThreadFactoryBuilder()
+                .setNameFormat("InGameHelp-warmUp-%d")
+                .setDaemon(true)
+                .setPriority(Thread.MIN_PRIORITY)
+                .build());
+        onboardingStore = new OnboardingStore(sandboxFileManager, "inGameHelp.properties");
+    }
+
+    /**
+     * Stops the warm-up of help content that might still be running.
+     */
+    @Override
+    public void shutdown() {
+        warmUpExecutor.shutdownNow();
+        screen = null;
+        HelpRenderStyles.invalidateFonts();
+        super.shutdown();
+    }
+
+    /**
+     * Releases the item widgets once the help has not been used for a while, together with the prefetched
+     * documents that hold on to them.
+     *
+     * @param delta the time since the last update.
+     */
+    @Override
+    public void update(float delta) {
+        if (itemWidgetCache.evictIfIdle()) {
+            for (HelpCategory category : categoryRegistry.getCategories()) {
+                if (category instanceof PrefetchHelpCategory) {
+                    ((PrefetchHelpCategory) category).releaseCachedDocuments();
+                }
+            }
+        }
     }
 
     /**
@@ -87,9 +157,51 @@ public class InGameHelpClientSystem extends BaseComponentSystem implements InGam
                 .orElse(FontColor.getColored("n/a", Color.red));
     }
 
+    /**
+     * Starts preparing the content of all help categories in the background, so that opening the help screen for the
+     * first time does not stall the game thread.
+     */
+    private void warmUpCategories() {
+        for (HelpCategory category : categoryRegistry.getCategories()) {
+            if (category instanceof WarmUpHelpCategory) {
+                ((WarmUpHelpCategory) category).warmUp(warmUpExecutor);
+            }
+        }
+    }
+
+    /**
+     * Checks whether the player has opened the help before. Players who were helped before the state became
+     * client-local still carry the {@link HasBeenHelpedComponent}, which is migrated to the client-local store and
+     * then removed from the character by the authority.
+     *
+     * @return true if the player has opened the help in the current world before.
+     */
+    @SuppressWarnings("deprecation")
+    private boolean hasBeenHelped() {
+        EntityRef character = localPlayer.getCharacterEntity();
+        if (character.hasComponent(HasBeenHelpedComponent.class)) {
+            onboardingStore.setHasBeenHelped(getWorld());
+            character.send(new HasBeenHelpedMigratedEvent());
+            return true;
+        }
+        return onboardingStore.hasBeenHelped(getWorld());
+    }
+
+    /**
+     * @return the identifier of the current world, under which the onboarding state is stored.
+     */
+    private String getWorld() {
+        return worldProvider.getSeed();
+    }
+
     @ReceiveEvent
     public void onLocalPlayerInitialized(LocalPlayerInitializedEvent event, EntityRef entity) {
-        if (!localPlayer.getCharacterEntity().hasComponent(HasBeenHelpedComponent.class)) {
+        warmUpCategories();
+        if (screen == null) {
+            screen = nuiManager.createScreen(SCREEN_URI, InGameHelpScreen.class);
+        }
+
+        if (!hasBeenHelped()) {
             Notification notification = new Notification(NOTIFICATION_ID,
                     "Where's the Manual?",
                     "Press " + getActivationKey(new SimpleUri("InGameHelp:inGameHelp")) + " for in-game help",
@@ -109,12 +221,13 @@ public class InGameHelpClientSystem extends BaseComponentSystem implements InGam
         if (event.getState() == ButtonState.DOWN) {
             entity.send(new ExpireNotificationEvent(NOTIFICATION_ID));
 
-            EntityRef targetEntity = localPlayer.getCharacterEntity();
-            if (!targetEntity.hasComponent(HasBeenHelpedComponent.class)) {
-                targetEntity.addComponent(new HasBeenHelpedComponent());
-            }
+            onboardingStore.setHasBeenHelped(getWorld());
 
-            nuiManager.toggleScreen("InGameHelp:InGameHelpScreen");
+            if (nuiManager.isOpen(SCREEN_URI)) {
+                nuiManager.closeScreen(SCREEN_URI);
+            } else {
+                openScreen("button");
+            }
             event.consume();
         }
     }
@@ -126,13 +239,28 @@ public class InGameHelpClientSystem extends BaseComponentSystem implements InGam
      */
     @Override
     public void showHelpForHyperlink(String hyperlink) {
-        InGameHelpScreen screen = (InGameHelpScreen) nuiManager.getScreen("InGameHelp:InGameHelpScreen");
-        if (screen == null) {
-            screen = (InGameHelpScreen) nuiManager.pushScreen("InGameHelp:InGameHelpScreen");
+        InGameHelpScreen openScreen;
+        if (nuiManager.isOpen(SCREEN_URI)) {
+            // navigating within the open screen is not a screen request
+            openScreen = (InGameHelpScreen) nuiManager.getScreen(SCREEN_URI);
+        } else {
+            openScreen = openScreen("hyperlink");
         }
-        screen.navigateTo(hyperlink);
-        if (!nuiManager.isOpen("InGameHelp:InGameHelpScreen")) {
-            nuiManager.toggleScreen("InGameHelp:InGameHelpScreen");
+        openScreen.navigateTo(hyperlink);
+    }
+
+    /**
+     * Opens the resident help screen, building it first if it is opened before the local player was initialised.
+     *
+     * @param trigger what requested the help screen, for the metrics.
+     * @return the opened help screen.
+     */
+    private InGameHelpScreen openScreen(String trigger) {
+        metrics.recordScreenRequested(trigger, screen != null);
+        if (screen == null) {
+            screen = nuiManager.createScreen(SCREEN_URI, InGameHelpScreen.class);
         }
+        nuiManager.pushScreen(screen);
+        return screen;
     }
 }
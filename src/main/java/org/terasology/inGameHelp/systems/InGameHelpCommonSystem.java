@@ -15,24 +15,44 @@
  */
 package org.terasology.inGameHelp.systems;
 
+import com.google.common.base.Strings;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSortedMap;
+import com.google.common.collect.Iterables;
+import com.google.common.collect.Maps;
 import org.terasology.engine.entitySystem.entity.EntityRef;
+import org.terasology.engine.entitySystem.prefab.Prefab;
 import org.terasology.engine.entitySystem.systems.BaseComponentSystem;
 import org.terasology.engine.entitySystem.systems.RegisterSystem;
 import org.terasology.engine.registry.In;
 import org.terasology.engine.registry.Share;
 import org.terasology.gestalt.entitysystem.event.ReceiveEvent;
+import org.terasology.inGameHelp.HelpPrefabIndex;
+import org.terasology.inGameHelp.HyperlinkPrefixHelpCategory;
 import org.terasology.inGameHelp.InGameHelpCategoryRegistry;
+import org.terasology.inGameHelp.InGameHelpMetrics;
+import org.terasology.inGameHelp.ItemWidgetCache;
+import org.terasology.inGameHelp.components.GeneralHelpComponent;
 import org.terasology.inGameHelp.helpCategories.GeneralHelpCategory;
 import org.terasology.inGameHelp.helpCategories.ItemsCategory;
 import org.terasology.inGameHelpAPI.ItemsCategoryInGameHelpRegistry;
+import org.terasology.inGameHelpAPI.components.ItemHelpComponent;
 import org.terasology.inGameHelpAPI.event.OnAddNewCategoryEvent;
 import org.terasology.inGameHelpAPI.systems.HelpCategory;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * System that handles the different categories.
+ * <p>
+ * The registered categories are kept in an immutable snapshot that is replaced atomically on every registration, so
+ * the help screen and warm-up threads can read the registry without locking.
  */
 @RegisterSystem
 @Share(InGameHelpCategoryRegistry.class)
@@ -41,15 +61,46 @@ public class InGameHelpCommonSystem extends BaseComponentSystem implements InGam
     @In
     ItemsCategoryInGameHelpRegistry itemsCategoryInGameHelpRegistry;
 
-    /** List of HelpCategories. */
-    List<HelpCategory> categories = new ArrayList<>();
+    /** Reference to the {@link HelpPrefabIndex} that knows all prefabs with general help. */
+    @In
+    HelpPrefabIndex helpPrefabIndex;
+
+    /** Reference to the {@link InGameHelpMetrics} the built-in categories record their performance to. */
+    @In
+    InGameHelpMetrics metrics;
+
+    /** Reference to the {@link ItemWidgetCache} the items category shares with the item grid. */
+    @In
+    ItemWidgetCache itemWidgetCache;
+
+    /** The current snapshot of the registered categories and hyperlink routes. */
+    final AtomicReference<Snapshot> snapshot = new AtomicReference<>(Snapshot.EMPTY);
 
     /**
-     * @return a list of help categories.
+     * @return an immutable list of help categories.
      */
     @Override
     public Iterable<HelpCategory> getCategories() {
-        return categories;
+        return snapshot.get().categories;
+    }
+
+    /**
+     * Finds a help category by its name, ignoring case.
+     *
+     * @param name the name of the category.
+     * @return the category, or an empty optional if no category with that name is registered.
+     */
+    @Override
+    public Optional<HelpCategory> getCategory(String name) {
+        return Optional.ofNullable(snapshot.get().categoriesByName.get(name.toLowerCase(Locale.ROOT)));
+    }
+
+    /**
+     * @return the revision of the registered categories.
+     */
+    @Override
+    public int getRevision() {
+        return snapshot.get().revision;
     }
 
     /**
@@ -59,11 +110,84 @@ public class InGameHelpCommonSystem extends BaseComponentSystem implements InGam
      */
     @Override
     public void registerCategory(HelpCategory category) {
-        categories.add(category);
+        registerCategories(Collections.singletonList(category));
+    }
+
+    /**
+     * Adds several help categories with a single update of the registry.
+     *
+     * @param categories the help categories to add.
+     */
+    @Override
+    public void registerCategories(Collection<HelpCategory> categories) {
+        if (!categories.isEmpty()) {
+            snapshot.updateAndGet(current -> current.withCategories(categories));
+        }
+    }
+
+    /**
+     * Routes hyperlinks starting with the given prefix to a help category.
+     *
+     * @param prefix the hyperlink prefix to route.
+     * @param category the category that handles hyperlinks with this prefix.
+     */
+    @Override
+    public void registerHyperlinkPrefix(String prefix, HelpCategory category) {
+        snapshot.updateAndGet(current -> current.withRoute(prefix, category));
+    }
+
+    /**
+     * Finds the help category that owns a hyperlink.
+     * <p>
+     * The longest registered prefix of the hyperlink wins. Hyperlinks without a registered prefix are treated as prefab
+     * names, looked up in the {@link HelpPrefabIndex} and routed by the category of the prefab's
+     * {@link ItemHelpComponent} or {@link GeneralHelpComponent}. Prefabs that were registered for the items category
+     * without an {@link ItemHelpComponent} belong to the "Items" category. No prefab asset is looked up.
+     *
+     * @param hyperlink the link to route.
+     * @return the owning category, or an empty optional if the hyperlink cannot be routed.
+     */
+    @Override
+    public Optional<HelpCategory> getCategoryForHyperlink(String hyperlink) {
+        ImmutableSortedMap<String, HelpCategory> hyperlinkRoutes = snapshot.get().hyperlinkRoutes;
+        Map.Entry<String, HelpCategory> route = hyperlinkRoutes.floorEntry(hyperlink);
+        while (route != null && !hyperlink.startsWith(route.getKey())) {
+            // all remaining candidates are prefixes of the part that this route shares with the hyperlink
+            route = hyperlinkRoutes.floorEntry(Strings.commonPrefix(route.getKey(), hyperlink));
+        }
+        if (route != null) {
+            return Optional.of(route.getValue());
+        }
+
+        return helpPrefabIndex.getPrefab(hyperlink)
+                .map(this::getCategoryNameFor)
+                .flatMap(this::getCategory);
+    }
+
+    /**
+     * Determines the name of the category that shows help for the given prefab.
+     *
+     * @param prefab the help prefab.
+     * @return the category name, or null if the prefab is not part of any help category.
+     */
+    private String getCategoryNameFor(Prefab prefab) {
+        ItemHelpComponent itemHelpComponent = prefab.getComponent(ItemHelpComponent.class);
+        if (itemHelpComponent != null) {
+            return itemHelpComponent.getCategory();
+        }
+        GeneralHelpComponent generalHelpComponent = prefab.getComponent(GeneralHelpComponent.class);
+        if (generalHelpComponent != null) {
+            return generalHelpComponent.getCategory();
+        }
+        if (Iterables.contains(itemsCategoryInGameHelpRegistry.getKnownPrefabs(), prefab)) {
+            return "Items";
+        }
+        return null;
     }
 
     /**
-     * Add a new category to the global list of help categories.
+     * Add a new category to the global list of help categories. If the category is a
+     * {@link HyperlinkPrefixHelpCategory}, its hyperlink prefixes are routed to it.
      *
      * @param event             The event which contains the new category to be added.
      * @param entity            Reference to the entity used for passing this event.
@@ -83,7 +207,77 @@ public class InGameHelpCommonSystem extends BaseComponentSystem implements InGam
         super.initialise();
 
         // Register the two base categories.
-        registerCategory(new GeneralHelpCategory());
-        registerCategory(new ItemsCategory(itemsCategoryInGameHelpRegistry));
+        registerCategories(ImmutableList.of(
+                new GeneralHelpCategory(helpPrefabIndex, metrics),
+                new ItemsCategory(itemsCategoryInGameHelpRegistry, helpPrefabIndex, metrics, itemWidgetCache)));
+    }
+
+    /**
+     * Immutable state of the registry.
+     */
+    static final class Snapshot {
+        static final Snapshot EMPTY = new Snapshot(ImmutableList.of(), ImmutableMap.of(), ImmutableSortedMap.of(), 0);
+
+        /** List of HelpCategories. */
+        final ImmutableList<HelpCategory> categories;
+
+        /** HelpCategories by their lower case name. */
+        final ImmutableMap<String, HelpCategory> categoriesByName;
+
+        /** Routing table from hyperlink prefixes to the category that handles them. */
+        final ImmutableSortedMap<String, HelpCategory> hyperlinkRoutes;
+
+        /** Revision of the registered categories, incremented whenever a category is added. */
+        final int revision;
+
+        Snapshot(ImmutableList<HelpCategory> categories, ImmutableMap<String, HelpCategory> categoriesByName,
+                 ImmutableSortedMap<String, HelpCategory> hyperlinkRoutes, int revision) {
+            this.categories = categories;
+            this.categoriesByName = categoriesByName;
+            this.hyperlinkRoutes = hyperlinkRoutes;
+            this.revision = revision;
+        }
+
+        /**
+         * @param added the categories to add.
+         * @return a snapshot with the given categories added. The first category registered for a name wins lookups.
+         *     The hyperlink prefixes of {@link HyperlinkPrefixHelpCategory}s are routed to them, replacing any previous
+         *     route for the same prefix.
+         */
+        Snapshot withCategories(Collection<HelpCategory> added) {
+            Map<String, HelpCategory> byName = Maps.newHashMap(categoriesByName);
+            Map<String, HelpCategory> routes = null;
+            for (HelpCategory category : added) {
+                byName.putIfAbsent(category.getCategoryName().toLowerCase(Locale.ROOT), category);
+                if (category instanceof HyperlinkPrefixHelpCategory) {
+                    if (routes == null) {
+                        routes = Maps.newHashMap(hyperlinkRoutes);
+                    }
+                    for (String prefix : ((HyperlinkPrefixHelpCategory) category).getHyperlinkPrefixes()) {
+                        routes.put(prefix, category);
+                    }
+                }
+            }
+            ImmutableList<HelpCategory> list =
+                    ImmutableList.<HelpCategory>builder().addAll(categories).addAll(added).build();
+            return new Snapshot(list, ImmutableMap.copyOf(byName),
+                    routes != null ? ImmutableSortedMap.copyOf(routes) : hyperlinkRoutes, revision + 1);
+        }
+
+        /**
+         * @param prefix the hyperlink prefix to route.
+         * @param category the category that handles hyperlinks with this prefix.
+         * @return a snapshot with the given route added, replacing any previous route for the prefix.
+         */
+        Snapshot withRoute(String prefix, HelpCategory category) {
+            ImmutableSortedMap.Builder<String, HelpCategory> routes = ImmutableSortedMap.naturalOrder();
+            hyperlinkRoutes.forEach((key, value) -> {
+                if (!key.equals(prefix)) {
+                    routes.put(key, value);
+                }
+            });
+            routes.put(prefix, category);
+            return new Snapshot(categories, categoriesByName, routes.build(), revision);
+        }
     }
 }
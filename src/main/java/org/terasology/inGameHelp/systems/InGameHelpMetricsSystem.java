@@ -0,0 +1,186 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.inGameHelp.systems;
+
+import com.google.common.collect.Maps;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.terasology.engine.entitySystem.systems.BaseComponentSystem;
+import org.terasology.engine.entitySystem.systems.RegisterSystem;
+import org.terasology.engine.logic.console.commandSystem.annotations.Command;
+import org.terasology.engine.logic.permission.PermissionManager;
+import org.terasology.engine.registry.Share;
+import org.terasology.inGameHelp.InGameHelpMetrics;
+
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * System that collects performance metrics of the in-game help and reports them through the {@code helpMetrics}
+ * console command and structured log lines.
+ */
+@RegisterSystem
+@Share(InGameHelpMetrics.class)
+public class InGameHelpMetricsSystem extends BaseComponentSystem implements InGameHelpMetrics {
+    private static final Logger logger = LoggerFactory.getLogger(InGameHelpMetricsSystem.class);
+
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    /** Metrics per category name. */
+    private final Map<String, CategoryMetrics> categories = Maps.newTreeMap();
+
+    /** Latency from a request to open the help screen until it is rendered, if the screen had to be built first. */
+    private final Timing coldScreenOpenLatency = new Timing();
+
+    /** Latency from a request to open the help screen until it is rendered, if the screen was already built. */
+    private final Timing warmScreenOpenLatency = new Timing();
+
+    /** When opening the help screen was requested, or 0 if no request is pending. */
+    private long screenRequestedAt;
+
+    /** What requested the pending opening of the help screen. */
+    private String screenRequestTrigger;
+
+    /** Whether the help screen of the pending request was already built. */
+    private boolean screenRequestWarm;
+
+    @Override
+    public synchronized void recordIndexBuild(String category, long nanos, int entries) {
+        CategoryMetrics metrics = getCategory(category);
+        metrics.indexBuild.record(nanos);
+        metrics.entries = entries;
+        logger.info("InGameHelp index build: category={} entries={} timeMs={}",
+                category, entries, format(nanos / NANOS_PER_MILLI));
+    }
+
+    @Override
+    public synchronized void recordDocumentBuild(String category, long nanos, int paragraphs) {
+        CategoryMetrics metrics = getCategory(category);
+        metrics.documentBuild.record(nanos);
+        metrics.paragraphs += paragraphs;
+    }
+
+    @Override
+    public synchronized void recordCacheLookup(String category, boolean hit) {
+        CategoryMetrics metrics = getCategory(category);
+        if (hit) {
+            metrics.cacheHits++;
+        } else {
+            metrics.cacheMisses++;
+        }
+    }
+
+    @Override
+    public synchronized void recordScreenRequested(String trigger, boolean warm) {
+        screenRequestedAt = System.nanoTime();
+        screenRequestTrigger = trigger;
+        screenRequestWarm = warm;
+    }
+
+    @Override
+    public synchronized void recordScreenRendered() {
+        if (screenRequestedAt != 0) {
+            long latency = System.nanoTime() - screenRequestedAt;
+            (screenRequestWarm ? warmScreenOpenLatency : coldScreenOpenLatency).record(latency);
+            logger.debug("InGameHelp screen open: trigger={} warm={} latencyMs={}",
+                    screenRequestTrigger, screenRequestWarm, format(latency / NANOS_PER_MILLI));
+            screenRequestedAt = 0;
+        }
+    }
+
+    /**
+     * Prints the performance metrics of the in-game help and logs them as one structured line per category.
+     *
+     * @return the metrics in human readable form.
+     */
+    @Command(shortDescription = "Show performance metrics of the in-game help",
+            helpText = "Shows index and document build times, document cache hit rates, entry and paragraph counts "
+                    + "per help category and the latency of opening the help screen.",
+            requiredPermission = PermissionManager.NO_PERMISSION)
+    public synchronized String helpMetrics() {
+        StringBuilder report = new StringBuilder();
+        report.append("Cold screen open latency: ").append(coldScreenOpenLatency).append('\n');
+        report.append("Warm screen open latency: ").append(warmScreenOpenLatency).append('\n');
+        logger.info("InGameHelp metrics: coldScreenOpens={} coldScreenOpenMeanMs={} coldScreenOpenMaxMs={} "
+                        + "warmScreenOpens={} warmScreenOpenMeanMs={} warmScreenOpenMaxMs={}",
+                coldScreenOpenLatency.count, format(coldScreenOpenLatency.meanMillis()),
+                format(coldScreenOpenLatency.maxMillis()), warmScreenOpenLatency.count,
+                format(warmScreenOpenLatency.meanMillis()), format(warmScreenOpenLatency.maxMillis()));
+
+        categories.forEach((name, metrics) -> {
+            report.append(name).append(": entries ").append(metrics.entries)
+                    .append(", paragraphs built ").append(metrics.paragraphs)
+                    .append(", cache hit rate ").append(format(metrics.hitRate() * 100)).append("%")
+                    .append("\n  index build: ").append(metrics.indexBuild)
+                    .append("\n  document build: ").append(metrics.documentBuild)
+                    .append('\n');
+            logger.info("InGameHelp metrics: category={} entries={} paragraphsBuilt={} indexBuilds={} indexBuildLastMs={} "
+                            + "documentBuilds={} documentBuildMeanMs={} documentBuildMaxMs={} cacheHits={} cacheMisses={}",
+                    name, metrics.entries, metrics.paragraphs, metrics.indexBuild.count,
+                    format(metrics.indexBuild.lastMillis()), metrics.documentBuild.count,
+                    format(metrics.documentBuild.meanMillis()), format(metrics.documentBuild.maxMillis()),
+                    metrics.cacheHits, metrics.cacheMisses);
+        });
+        return report.toString();
+    }
+
+    private CategoryMetrics getCategory(String category) {
+        return categories.computeIfAbsent(category, name -> new CategoryMetrics());
+    }
+
+    private static String format(double value) {
+        return String.format(Locale.ROOT, "%.2f", value);
+    }
+
+    /**
+     * Metrics of a single help category.
+     */
+    private static final class CategoryMetrics {
+        private final Timing indexBuild = new Timing();
+        private final Timing documentBuild = new Timing();
+        private int entries;
+        private long paragraphs;
+        private long cacheHits;
+        private long cacheMisses;
+
+        private double hitRate() {
+            long lookups = cacheHits + cacheMisses;
+            return lookups == 0 ? 0 : (double) cacheHits / lookups;
+        }
+    }
+
+    /**
+     * Count, total, maximum and last value of a measured duration.
+     */
+    private static final class Timing {
+        private long count;
+        private long totalNanos;
+        private long maxNanos;
+        private long lastNanos;
+
+        private void record(long nanos) {
+            count++;
+            totalNanos += nanos;
+            maxNanos = Math.max(maxNanos, nanos);
+            lastNanos = nanos;
+        }
+
+        private double meanMillis() {
+            return count == 0 ? 0 : totalNanos / NANOS_PER_MILLI / count;
+        }
+
+        private double maxMillis() {
+            return maxNanos / NANOS_PER_MILLI;
+        }
+
+        private double lastMillis() {
+            return lastNanos / NANOS_PER_MILLI;
+        }
+
+        @Override
+        public String toString() {
+            return count + " times, last " + format(lastMillis()) + " ms, mean " + format(meanMillis())
+                    + " ms, max " + format(maxMillis()) + " ms";
+        }
+    }
+}
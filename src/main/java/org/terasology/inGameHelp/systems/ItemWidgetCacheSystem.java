@@ -0,0 +1,116 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.inGameHelp.systems;
+
+import org.terasology.engine.entitySystem.systems.BaseComponentSystem;
+import org.terasology.engine.entitySystem.systems.RegisterSystem;
+import org.terasology.engine.registry.Share;
+import org.terasology.inGameHelp.ItemWidgetCache;
+import org.terasology.inGameHelpAPI.ui.ItemWidget;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * System that holds the {@link ItemWidget}s shared by the item grid and the item help documents.
+ * <p>
+ * The cache is idle while the help screen is not open, starting when the screen is closed or, if widgets are created
+ * before the screen is opened for the first time, e.g., by a prefetch, when the first widget is created.
+ */
+@RegisterSystem
+@Share(ItemWidgetCache.class)
+public class ItemWidgetCacheSystem extends BaseComponentSystem implements ItemWidgetCache {
+    /** Number of widgets kept unless a larger capacity is requested. */
+    private static final int DEFAULT_CAPACITY = 256;
+
+    /** How long the help screen has to be closed before the cache is emptied. */
+    private static final long IDLE_EVICTION_NANOS = TimeUnit.SECONDS.toNanos(60);
+
+    /** Widgets by item hyperlink, least recently used first. */
+    private final LinkedHashMap<String, ItemWidget> widgets = new LinkedHashMap<String, ItemWidget>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, ItemWidget> eldest) {
+            return size() > capacity;
+        }
+    };
+
+    /** Creates the widget of an item from its hyperlink. */
+    private final Function<String, ItemWidget> widgetFactory;
+
+    /** Maximum number of cached widgets. */
+    private int capacity = DEFAULT_CAPACITY;
+
+    /** Whether the help screen is open. */
+    private boolean screenOpen;
+
+    /** Since when the cache has been holding widgets while the help screen is not open, or 0 if it has not. */
+    private long idleSince;
+
+    public ItemWidgetCacheSystem() {
+        this(ItemWidget::new);
+    }
+
+    /**
+     * Creates a cache with a custom way of creating the widgets, e.g., for headless tests that cannot resolve item
+     * assets.
+     *
+     * @param widgetFactory creates the widget of an item from its hyperlink.
+     */
+    public ItemWidgetCacheSystem(Function<String, ItemWidget> widgetFactory) {
+        this.widgetFactory = widgetFactory;
+    }
+
+    @Override
+    public void shutdown() {
+        clear();
+        super.shutdown();
+    }
+
+    @Override
+    public ItemWidget get(String hyperlink) {
+        ItemWidget widget = widgets.get(hyperlink);
+        if (widget == null) {
+            widget = widgetFactory.apply(hyperlink);
+            widgets.put(hyperlink, widget);
+            if (!screenOpen && idleSince == 0) {
+                idleSince = System.nanoTime();
+            }
+        }
+        return widget;
+    }
+
+    @Override
+    public void ensureCapacity(int minimumCapacity) {
+        capacity = Math.max(capacity, minimumCapacity);
+    }
+
+    @Override
+    public void onScreenOpened() {
+        screenOpen = true;
+        idleSince = 0;
+    }
+
+    @Override
+    public void onScreenClosed() {
+        screenOpen = false;
+        idleSince = widgets.isEmpty() ? 0 : System.nanoTime();
+    }
+
+    @Override
+    public boolean evictIfIdle() {
+        if (idleSince != 0 && System.nanoTime() - idleSince > IDLE_EVICTION_NANOS) {
+            clear();
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public void clear() {
+        widgets.clear();
+        capacity = DEFAULT_CAPACITY;
+        idleSince = 0;
+    }
+}
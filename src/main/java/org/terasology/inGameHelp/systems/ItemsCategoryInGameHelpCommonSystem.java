@@ -15,26 +15,50 @@
  */
 package org.terasology.inGameHelp.systems;
 
-import com.google.common.collect.HashMultimap;
-import com.google.common.collect.Iterables;
-import com.google.common.collect.Multimap;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
 import org.terasology.engine.entitySystem.prefab.Prefab;
 import org.terasology.engine.entitySystem.systems.BaseComponentSystem;
 import org.terasology.engine.entitySystem.systems.RegisterSystem;
+import org.terasology.engine.registry.In;
 import org.terasology.engine.registry.Share;
-import org.terasology.engine.utilities.Assets;
+import org.terasology.inGameHelp.BatchItemHelpRegistry;
+import org.terasology.inGameHelp.HelpPrefabIndex;
 import org.terasology.inGameHelpAPI.ItemsCategoryInGameHelpRegistry;
 import org.terasology.inGameHelpAPI.components.HelpItem;
 import org.terasology.inGameHelpAPI.components.ItemHelpComponent;
 
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
 /**
  * System that handles the prefabs and HelpItems that are associated with the prefab.
  */
 @RegisterSystem
-@Share(ItemsCategoryInGameHelpRegistry.class)
-public class ItemsCategoryInGameHelpCommonSystem extends BaseComponentSystem implements ItemsCategoryInGameHelpRegistry {
-    /** Contains all known prefabs that have the item help component and maps all and the help items associated with the prefab. */
-    Multimap<Prefab, HelpItem> knownPrefabs = HashMultimap.create();
+@Share({ItemsCategoryInGameHelpRegistry.class, BatchItemHelpRegistry.class})
+public class ItemsCategoryInGameHelpCommonSystem extends BaseComponentSystem
+        implements ItemsCategoryInGameHelpRegistry, BatchItemHelpRegistry, HelpPrefabIndex.ChangeListener {
+    /** Reference to the {@link HelpPrefabIndex} that knows all prefabs with the item help component. */
+    @In
+    HelpPrefabIndex helpPrefabIndex;
+
+    /**
+     * Contains all known prefabs that have the item help component and maps them to the help items associated with the
+     * prefab. Prefabs without registered help items share the empty list. Concurrent, as the help categories may read
+     * it from a warm-up thread.
+     */
+    Map<Prefab, List<HelpItem>> knownPrefabs = new ConcurrentHashMap<>();
+
+    /** Read-only view of the known prefabs. */
+    private final Set<Prefab> knownPrefabsView = Collections.unmodifiableSet(knownPrefabs.keySet());
+
+    /** Whether the initial prefabs have been registered, after which changes are passed on to the help categories. */
+    boolean initialised;
 
     /**
      * Initialises the system.
@@ -43,24 +67,64 @@ public class ItemsCategoryInGameHelpCommonSystem extends BaseComponentSystem imp
     public void initialise() {
         super.initialise();
         
+        // prefabs registered by other systems before this one was initialised have no item help component, so the
+        // index has to be told about them for their hyperlinks to be routed
+        List<Prefab> registeredEarly = Lists.newArrayList(knownPrefabs.keySet());
+
         //add the prefabs and HelpItems to the knownPrefabs
-        Assets.list(Prefab.class).stream()
-                .map(x -> Assets.get(x, Prefab.class).get())
-                .filter(x -> x.hasComponent(ItemHelpComponent.class))
-                .forEach(x -> addKnownPrefab(x));
+        helpPrefabIndex.getItemHelpPrefabs().forEach(x -> addKnownPrefab(x));
+        registeredEarly.removeIf(prefab -> prefab.hasComponent(ItemHelpComponent.class));
+        helpPrefabIndex.update(registeredEarly);
+        helpPrefabIndex.subscribe(this);
+        initialised = true;
     }
 
     /**
-     * Adds prefab and help items associated with the prefab to knownPrefabs.
+     * Registers prefabs that gained an item help component and forgets prefabs that were disposed.
+     *
+     * @param changed prefabs that were added, reloaded or newly registered for help.
+     * @param removed prefabs that were disposed.
+     */
+    @Override
+    public void onHelpPrefabsChanged(Collection<Prefab> changed, Collection<Prefab> removed) {
+        for (Prefab prefab : changed) {
+            if (prefab.hasComponent(ItemHelpComponent.class)) {
+                knownPrefabs.putIfAbsent(prefab, ImmutableList.of());
+            }
+        }
+        for (Prefab prefab : removed) {
+            knownPrefabs.remove(prefab);
+        }
+    }
+
+    /**
+     * Adds prefab and help items associated with the prefab to knownPrefabs. Help items already registered for the
+     * prefab are kept, duplicates are ignored. Prefabs added after initialisation are passed on to the help categories
+     * as a targeted update.
      *
      * @param prefab the prefab to add.
      * @param helpItems the help items to add.
      */
     @Override
     public void addKnownPrefab(Prefab prefab, HelpItem... helpItems) {
-        knownPrefabs.put(prefab, null);
-        for (HelpItem helpItem : helpItems) {
-            knownPrefabs.put(prefab, helpItem);
+        knownPrefabs.compute(prefab, (key, registered) -> withHelpItems(registered, helpItems));
+        if (initialised) {
+            helpPrefabIndex.update(Collections.singleton(prefab));
+        }
+    }
+
+    /**
+     * Adds many prefabs and the help items associated with them. Prefabs added after initialisation are passed on to
+     * the help categories in a single targeted update.
+     *
+     * @param helpItemsByPrefab the help items to add per prefab.
+     */
+    @Override
+    public void addKnownPrefabs(Map<Prefab, ? extends Collection<HelpItem>> helpItemsByPrefab) {
+        helpItemsByPrefab.forEach((prefab, helpItems) -> knownPrefabs.compute(prefab,
+                (key, registered) -> withHelpItems(registered, helpItems.toArray(new HelpItem[0]))));
+        if (initialised && !helpItemsByPrefab.isEmpty()) {
+            helpPrefabIndex.update(helpItemsByPrefab.keySet());
         }
     }
 
@@ -71,7 +135,7 @@ public class ItemsCategoryInGameHelpCommonSystem extends BaseComponentSystem imp
      */
     @Override
     public Iterable<Prefab> getKnownPrefabs() {
-        return knownPrefabs.keySet();
+        return knownPrefabsView;
     }
 
     /**
@@ -82,6 +146,29 @@ public class ItemsCategoryInGameHelpCommonSystem extends BaseComponentSystem imp
      */
     @Override
     public Iterable<HelpItem> getHelpItems(Prefab prefab) {
-        return Iterables.filter(knownPrefabs.get(prefab), x -> x != null);
+        return knownPrefabs.getOrDefault(prefab, ImmutableList.of());
+    }
+
+    /**
+     * Combines the help items registered for a prefab with additional ones.
+     *
+     * @param registered the help items registered so far, or null if the prefab is not known yet.
+     * @param helpItems the help items to add.
+     * @return the distinct, non-null help items in registration order, sharing the empty list if there are none.
+     */
+    private static List<HelpItem> withHelpItems(List<HelpItem> registered, HelpItem... helpItems) {
+        if (helpItems.length == 0) {
+            return registered != null ? registered : ImmutableList.of();
+        }
+        Set<HelpItem> combined = new LinkedHashSet<>();
+        if (registered != null) {
+            combined.addAll(registered);
+        }
+        for (HelpItem helpItem : helpItems) {
+            if (helpItem != null) {
+                combined.add(helpItem);
+            }
+        }
+        return ImmutableList.copyOf(combined);
     }
 }
@@ -0,0 +1,102 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.inGameHelp.systems;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.terasology.engine.core.module.SandboxFileManager;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.NoSuchFileException;
+import java.util.Properties;
+
+/**
+ * Client-local store of the player's onboarding state, such as whether they have already opened the help.
+ * <p>
+ * This is a preference of the client rather than game state, so it is kept in a small properties file in the module
+ * sandbox of the client instead of on the character entity, where it would be replicated and saved with the world.
+ * As the character entity was, the state is kept per world: a player who joins a new world or server is shown the
+ * hint again. All worlds share one file, with the state of each world under a key made from its identifier.
+ */
+class OnboardingStore {
+    private static final Logger logger = LoggerFactory.getLogger(OnboardingStore.class);
+
+    private static final String HAS_BEEN_HELPED = "hasBeenHelped";
+
+    /** The sandbox the state is stored in. */
+    private final SandboxFileManager sandboxFileManager;
+
+    /** The name of the file in the sandbox the state is stored in. */
+    private final String fileName;
+
+    /** The stored state, loaded on first access. */
+    private Properties properties;
+
+    /**
+     * @param sandboxFileManager the sandbox to store the state in
+     * @param fileName the name of the file in the sandbox to store the state in
+     */
+    OnboardingStore(SandboxFileManager sandboxFileManager, String fileName) {
+        this.sandboxFileManager = sandboxFileManager;
+        this.fileName = fileName;
+    }
+
+    /**
+     * @param world the identifier of the world the player is in
+     * @return true if the player has opened the help in the world before.
+     */
+    boolean hasBeenHelped(String world) {
+        return Boolean.parseBoolean(getProperties().getProperty(key(HAS_BEEN_HELPED, world)));
+    }
+
+    /**
+     * Remembers that the player has opened the help in a world. The file is only written if the state changes.
+     *
+     * @param world the identifier of the world the player is in
+     */
+    void setHasBeenHelped(String world) {
+        if (!hasBeenHelped(world)) {
+            getProperties().setProperty(key(HAS_BEEN_HELPED, world), Boolean.TRUE.toString());
+            save();
+        }
+    }
+
+    private static String key(String name, String world) {
+        return name + "." + world;
+    }
+
+    private Properties getProperties() {
+        if (properties == null) {
+            properties = new Properties();
+            try {
+                sandboxFileManager.readFile(fileName, in -> {
+                    try {
+                        properties.load(in);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (NoSuchFileException e) {
+                // nothing stored yet
+            } catch (IOException | UncheckedIOException e) {
+                logger.warn("Failed to load the in-game help state from {}", fileName, e);
+            }
+        }
+        return properties;
+    }
+
+    private void save() {
+        try {
+            sandboxFileManager.writeFile(fileName, out -> {
+                try {
+                    properties.store(out, "In-game help state");
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (IOException | UncheckedIOException e) {
+            logger.warn("Failed to store the in-game help state in {}", fileName, e);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.inGameHelp.ui;
+
+import org.terasology.engine.rendering.assets.font.Font;
+import org.terasology.engine.rendering.nui.widgets.browser.ui.style.ParagraphRenderStyle;
+import org.terasology.engine.rendering.nui.widgets.browser.ui.style.TextRenderStyle;
+import org.terasology.engine.utilities.Assets;
+import org.terasology.inGameHelpAPI.ui.DefaultTitleParagraphStyle;
+
+/**
+ * Shared render styles of the help documents.
+ * <p>
+ * The styles are asked for their font for every text run on every frame, so fonts are resolved once and kept until
+ * the asset is disposed, e.g., when the module environment changes, or the fonts are invalidated. Reloaded fonts are
+ * updated in place by the asset system and need no special handling.
+ */
+public final class HelpRenderStyles {
+    /** The font of item help titles. */
+    private static final CachedFont TITLE_FONT = new CachedFont("engine:NotoSans-Regular-Title");
+
+    /** Text style of item help titles. */
+    private static final TextRenderStyle TITLE_STYLE = new TextRenderStyle() {
+        /**
+         * @return the title font, or null to fall back to the default font if it is not available
+         */
+        @Override
+        public Font getFont(boolean hyperlink) {
+            return TITLE_FONT.get();
+        }
+    };
+
+    /** Paragraph style of general help titles. */
+    private static final ParagraphRenderStyle TITLE_PARAGRAPH_STYLE = new DefaultTitleParagraphStyle();
+
+    private HelpRenderStyles() {
+    }
+
+    /**
+     * @return the text style of item help titles.
+     */
+    public static TextRenderStyle getTitleStyle() {
+        return TITLE_STYLE;
+    }
+
+    /**
+     * @return the paragraph style of general help titles.
+     */
+    public static ParagraphRenderStyle getTitleParagraphStyle() {
+        return TITLE_PARAGRAPH_STYLE;
+    }
+
+    /**
+     * Forgets the resolved fonts, including fonts that were not found, so they are looked up again on next use. To be
+     * called when the available assets change, e.g., when leaving a game.
+     */
+    public static void invalidateFonts() {
+        TITLE_FONT.invalidate();
+    }
+
+    /**
+     * A font that is resolved on first use and again after it has been disposed. A font that is not available is
+     * remembered as missing until the fonts are invalidated, so it is not looked up for every text run.
+     */
+    private static final class CachedFont {
+        private final String urn;
+        private volatile Font font;
+        private volatile boolean missing;
+
+        private CachedFont(String urn) {
+            this.urn = urn;
+        }
+
+        private Font get() {
+            Font current = font;
+            if (current != null ? !current.isDisposed() : missing) {
+                return current;
+            }
+            current = Assets.getFont(urn).orElse(null);
+            font = current;
+            missing = current == null;
+            return current;
+        }
+
+        private void invalidate() {
+            font = null;
+            missing = false;
+        }
+    }
+}
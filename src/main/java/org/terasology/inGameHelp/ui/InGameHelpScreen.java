@@ -2,62 +2,172 @@
 // SPDX-License-Identifier: Apache-2.0
 package org.terasology.inGameHelp.ui;
 
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
 import org.terasology.engine.registry.CoreRegistry;
 import org.terasology.engine.rendering.nui.CoreScreenLayer;
+import org.terasology.engine.rendering.nui.widgets.browser.data.DocumentData;
+import org.terasology.engine.rendering.nui.widgets.browser.data.basic.FlowParagraphData;
+import org.terasology.engine.rendering.nui.widgets.browser.data.basic.flow.TextFlowRenderable;
+import org.terasology.engine.rendering.nui.widgets.browser.data.html.HTMLDocument;
 import org.terasology.engine.rendering.nui.widgets.browser.ui.BrowserHyperlinkListener;
 import org.terasology.engine.rendering.nui.widgets.browser.ui.BrowserWidget;
+import org.terasology.inGameHelp.HelpPrefabIndex;
+import org.terasology.inGameHelp.HelpPrefetcher;
 import org.terasology.inGameHelp.InGameHelpCategoryRegistry;
+import org.terasology.inGameHelp.InGameHelpMetrics;
+import org.terasology.inGameHelp.ItemGridHelpCategory;
+import org.terasology.inGameHelp.ItemWidgetCache;
+import org.terasology.inGameHelp.SearchableHelpCategory;
+import org.terasology.inGameHelp.WarmUpHelpCategory;
+import org.terasology.inGameHelp.search.HelpSearchIndex;
 import org.terasology.inGameHelpAPI.systems.HelpCategory;
+import org.terasology.nui.Canvas;
+import org.terasology.nui.UIWidget;
 import org.terasology.nui.layouts.FlowLayout;
 import org.terasology.nui.widgets.UIButton;
+import org.terasology.nui.widgets.UIText;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 
 /**
  * Implementation for the help screen.
  */
 public class InGameHelpScreen extends CoreScreenLayer {
+    /** Maximum number of search results to show. */
+    private static final int MAX_SEARCH_RESULTS = 50;
+
+    /** Maximum number of pages kept in the navigation history. */
+    private static final int HISTORY_SIZE = 32;
+
     /** Layout that contains buttons for the help category tabs. */
     FlowLayout categoryButtons;
 
     /** Browser that contains a listener for navigating to the different help categories. */
     BrowserWidget browser;
     
-    /** Iterable that contains all the help categories. */
+    /** Scrollable area around the browser, hidden while the item grid is shown. */
+    UIWidget mainContent;
+
+    /** Virtualized grid for categories that show their root page as a grid of items. */
+    VirtualItemGrid itemGrid;
+
+    /** Snapshot of the help categories the category buttons were created for. */
     Iterable<HelpCategory> categories;
 
+    /** The buttons created for the help categories. */
+    List<UIButton> categoryButtonWidgets = Lists.newArrayList();
+
+    /** Revision of the category registry the category buttons were created for. */
+    int categoryButtonsRevision;
+
+    /** Registry that routes hyperlinks to the category that owns them. */
+    InGameHelpCategoryRegistry categoryRegistry;
+
+    /** Metrics to record the latency of opening the screen to. */
+    InGameHelpMetrics metrics;
+
+    /** Cache of the widgets shown in the item grid and the item documents. */
+    ItemWidgetCache itemWidgetCache;
+
+    /** Index of the help prefabs, which looks for changed prefabs only while the screen is open. */
+    HelpPrefabIndex helpPrefabIndex;
+
+    /** The category whose document is currently shown. */
+    HelpCategory currentCategory;
+
+    /** Whether the current category was still warming up when its document was shown. */
+    boolean waitingForWarmUp;
+
+    /** Text box for searching all help content. */
+    UIText searchBox;
+
+    /** Back and forward history of the visited pages. */
+    NavigationHistory history = new NavigationHistory(HISTORY_SIZE);
+
+    /** The document shown in the browser, or null if the item grid is shown. */
+    DocumentData shownDocument;
+
+    /** The items shown in the item grid, or null if a document is shown. */
+    List<String> shownGridItems;
+
+    /** The search query the shown results are for, or the empty string if no results are shown. */
+    String currentQuery = "";
+
+    /**
+     * Search index of each searchable category, built on the first search. A category is indexed on its own, so a
+     * change to its content only rebuilds its own index, and a category that is still warming up is left out until it
+     * is ready.
+     */
+    Map<SearchableHelpCategory, CategorySearchIndex> searchIndexes = Maps.newHashMap();
+
+    /** Whether the shown search results are missing categories that were still warming up. */
+    boolean searchWaitingForWarmUp;
 
     /**
      * Initialises the screen with buttons containing the names of the help categories that navigate to documents containing information for each of the help categories. 
      */
     @Override
     public void initialise() {
-        InGameHelpCategoryRegistry categoryRegistry = CoreRegistry.get(InGameHelpCategoryRegistry.class);
-        categories = categoryRegistry.getCategories();
+        categoryRegistry = CoreRegistry.get(InGameHelpCategoryRegistry.class);
+        metrics = CoreRegistry.get(InGameHelpMetrics.class);
+        if (metrics == null) {
+            metrics = InGameHelpMetrics.NONE;
+        }
+        itemWidgetCache = CoreRegistry.get(ItemWidgetCache.class);
+        helpPrefabIndex = CoreRegistry.get(HelpPrefabIndex.class);
 
         //populate categorybuttons with buttons referencing information from the different HelpCategory tabs
         categoryButtons = find("categoryButtons", FlowLayout.class);
-        if (categoryButtons != null) {
-            for (final HelpCategory category : categories) {
-                UIButton newButton = new UIButton();
-                newButton.setText(category.getCategoryName());
-                newButton.subscribe(widget -> navigateTo(category));
-                categoryButtons.addWidget(newButton, null);
-            }
+        refreshCategoryButtons();
+
+        searchBox = find("searchBox", UIText.class);
+
+        UIButton backButton = find("backButton", UIButton.class);
+        if (backButton != null) {
+            backButton.subscribe(widget -> goBack());
+        }
+        UIButton forwardButton = find("forwardButton", UIButton.class);
+        if (forwardButton != null) {
+            forwardButton.subscribe(widget -> goForward());
         }
+        mainContent = find("mainContent", UIWidget.class);
 
-        //add listener to browser
+        BrowserHyperlinkListener hyperlinkListener = new BrowserHyperlinkListener() {
+            /**
+             * Goes to the document referenced by the hyperlink.
+             *
+             * @param hyperlink the link to the document
+             */
+            @Override
+            public void hyperlinkClicked(String hyperlink) {
+                navigateTo(hyperlink);
+            }
+        };
+
+        //add listener to browser and item grid
         browser = find("browser", BrowserWidget.class);
         if (browser != null) {
-            browser.addBrowserHyperlinkListener(new BrowserHyperlinkListener() {
-                /**
-                 * Goes to the document referenced by the hyperlink.
-                 *
-                 * @param hyperlink the link to the document
-                 */
-                @Override
-                public void hyperlinkClicked(String hyperlink) {
-                    navigateTo(hyperlink);
-                }
-            });
+            browser.addBrowserHyperlinkListener(hyperlinkListener);
+        }
+        itemGrid = find("itemGrid", VirtualItemGrid.class);
+        if (itemGrid != null) {
+            itemGrid.setWidgetCache(itemWidgetCache);
+            itemGrid.addHyperlinkListener(hyperlinkListener);
+            HelpPrefetcher prefetcher = CoreRegistry.get(HelpPrefetcher.class);
+            if (prefetcher != null) {
+                itemGrid.addHoverListener(hyperlink -> {
+                    if (hyperlink != null) {
+                        prefetcher.prefetch(hyperlink);
+                    } else {
+                        prefetcher.cancelPrefetch();
+                    }
+                });
+            }
         }
 
         //navigates to all of the help categories
@@ -68,15 +178,203 @@ public class InGameHelpScreen extends CoreScreenLayer {
 
     }
 
+    /**
+     * Updates the category buttons if categories were registered since the screen was last opened, which happens if
+     * the screen is kept resident, stops the idle eviction of the item widgets and starts looking for changed help
+     * prefabs.
+     */
+    @Override
+    public void onOpened() {
+        super.onOpened();
+        if (itemWidgetCache != null) {
+            itemWidgetCache.onScreenOpened();
+        }
+        if (helpPrefabIndex != null) {
+            helpPrefabIndex.setChangeChecksActive(true);
+        }
+        if (categoryRegistry != null && categoryButtonsRevision != categoryRegistry.getRevision()) {
+            refreshCategoryButtons();
+        }
+    }
+
+    /**
+     * Starts the idle eviction of the item widgets and stops looking for changed help prefabs.
+     */
+    @Override
+    public void onClosed() {
+        super.onClosed();
+        if (itemWidgetCache != null) {
+            itemWidgetCache.onScreenClosed();
+        }
+        if (helpPrefabIndex != null) {
+            helpPrefabIndex.setChangeChecksActive(false);
+        }
+    }
+
+    /**
+     * Creates a button for every registered help category, replacing the previous buttons.
+     */
+    private void refreshCategoryButtons() {
+        categories = categoryRegistry.getCategories();
+        categoryButtonsRevision = categoryRegistry.getRevision();
+        if (categoryButtons == null) {
+            return;
+        }
+        for (UIButton button : categoryButtonWidgets) {
+            categoryButtons.removeWidget(button);
+        }
+        categoryButtonWidgets.clear();
+        for (final HelpCategory category : categories) {
+            UIButton newButton = new UIButton();
+            newButton.setText(category.getCategoryName());
+            newButton.subscribe(widget -> navigateTo(category));
+            categoryButtons.addWidget(newButton, null);
+            categoryButtonWidgets.add(newButton);
+        }
+    }
+
+    /**
+     * Shows the final document of the current category once its warm-up has finished, replacing the placeholder, or
+     * repeats the search once all categories have finished warming up.
+     *
+     * @param delta the time since the last update.
+     */
+    @Override
+    public void update(float delta) {
+        super.update(delta);
+        if (searchBox != null && !searchBox.getText().trim().equals(currentQuery)) {
+            search(searchBox.getText().trim());
+        } else if (searchWaitingForWarmUp && !currentQuery.isEmpty()) {
+            if (!isAnySearchableCategoryWarmingUp()) {
+                search(currentQuery);
+            }
+        } else if (waitingForWarmUp && !isWarmingUp(currentCategory)) {
+            show(currentCategory);
+            NavigationHistory.Page page = history.current();
+            if (page != null && page.category == currentCategory) {
+                capture(page);
+            }
+        }
+    }
+
+    /**
+     * Draws the screen and records that it has been rendered, completing a pending open latency measurement.
+     *
+     * @param canvas the canvas to draw on.
+     */
+    @Override
+    public void onDraw(Canvas canvas) {
+        super.onDraw(canvas);
+        metrics.recordScreenRendered();
+    }
+
+    /**
+     * Shows the help pages matching the query as a list of hyperlinks, or the current category if the query is empty.
+     *
+     * @param query the query as typed by the player.
+     */
+    private void search(String query) {
+        currentQuery = query;
+        searchWaitingForWarmUp = false;
+        if (query.isEmpty()) {
+            if (history.current() != null) {
+                restore(history.current());
+            } else {
+                show(currentCategory);
+            }
+            return;
+        }
+
+        updateSearchIndexes();
+        List<List<HelpSearchIndex.Result>> resultsPerCategory = Lists.newArrayList();
+        for (CategorySearchIndex categoryIndex : searchIndexes.values()) {
+            resultsPerCategory.add(categoryIndex.index.search(query, MAX_SEARCH_RESULTS));
+        }
+        List<HelpSearchIndex.Result> results = HelpSearchIndex.merge(resultsPerCategory, MAX_SEARCH_RESULTS);
+
+        HTMLDocument resultDocument = new HTMLDocument(null);
+        if (results.isEmpty()) {
+            // the query is not parsed as markup, as the player may type anything
+            FlowParagraphData paragraph = new FlowParagraphData(null);
+            paragraph.append(new TextFlowRenderable("No help found for \"" + query + "\".", null, null));
+            resultDocument.addParagraph(paragraph);
+        }
+        for (HelpSearchIndex.Result result : results) {
+            FlowParagraphData paragraph = new FlowParagraphData(null);
+            paragraph.append(new TextFlowRenderable(result.getTitle(), null, result.getHyperlink()));
+            resultDocument.addParagraph(paragraph);
+        }
+        waitingForWarmUp = false;
+        showDocument(resultDocument);
+    }
+
+    /**
+     * Rebuilds the search index of every searchable category whose content changed since it was indexed. Categories
+     * that are still warming up are skipped, so typing does not wait for them, and indexed once they are ready.
+     */
+    private void updateSearchIndexes() {
+        Set<SearchableHelpCategory> registered = Sets.newHashSet();
+        for (HelpCategory category : categoryRegistry.getCategories()) {
+            if (!(category instanceof SearchableHelpCategory)) {
+                continue;
+            }
+            SearchableHelpCategory searchable = (SearchableHelpCategory) category;
+            registered.add(searchable);
+            if (isWarmingUp(category)) {
+                searchWaitingForWarmUp = true;
+                continue;
+            }
+            CategorySearchIndex categoryIndex = searchIndexes.get(searchable);
+            if (categoryIndex != null && categoryIndex.contentRevision == searchable.getContentRevision()) {
+                continue;
+            }
+            HelpSearchIndex index = new HelpSearchIndex();
+            if (searchable.indexContent(index)) {
+                // indexing may have initialised the category, so the revision is taken afterwards
+                searchIndexes.put(searchable, new CategorySearchIndex(index, searchable.getContentRevision()));
+            } else {
+                searchIndexes.remove(searchable);
+                searchWaitingForWarmUp = true;
+            }
+        }
+        searchIndexes.keySet().retainAll(registered);
+    }
+
+    /**
+     * @return true if any searchable category is still preparing its content in the background.
+     */
+    private boolean isAnySearchableCategoryWarmingUp() {
+        for (HelpCategory category : categoryRegistry.getCategories()) {
+            if (category instanceof SearchableHelpCategory && isWarmingUp(category)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * Navigates to the document referenced by hyperlink.
+     * <p>
+     * The hyperlink is sent straight to the category that owns it. Only hyperlinks that cannot be routed are offered
+     * to every category in turn.
      *
      * @param hyperlink the link to the document.
      */
     public void navigateTo(String hyperlink) {
-        for (HelpCategory helpCategory : categories) {
+        leaveCurrentPage();
+        Optional<HelpCategory> owner = categoryRegistry.getCategoryForHyperlink(hyperlink);
+        if (owner.isPresent()) {
+            if (owner.get().handleNavigate(hyperlink)) {
+                show(owner.get());
+                visit(owner.get(), hyperlink);
+            }
+            return;
+        }
+
+        for (HelpCategory helpCategory : categoryRegistry.getCategories()) {
             if (helpCategory.handleNavigate(hyperlink)) {
-                browser.navigateTo(helpCategory.getDocumentData());
+                show(helpCategory);
+                visit(helpCategory, hyperlink);
                 break;
             }
         }
@@ -88,7 +386,181 @@ public class InGameHelpScreen extends CoreScreenLayer {
      * @param category the help tab that the user is on.
      */
     private void navigateTo(HelpCategory category) {
+        leaveCurrentPage();
         category.resetNavigation();
-        browser.navigateTo(category.getDocumentData());
+        show(category);
+        visit(category, null);
+    }
+
+    /**
+     * Shows the previous page of the navigation history, if there is one.
+     */
+    private void goBack() {
+        leaveCurrentPage();
+        NavigationHistory.Page page = history.back();
+        if (page != null) {
+            restore(page);
+        }
+    }
+
+    /**
+     * Shows the next page of the navigation history, if there is one.
+     */
+    private void goForward() {
+        leaveCurrentPage();
+        NavigationHistory.Page page = history.forward();
+        if (page != null) {
+            restore(page);
+        }
+    }
+
+    /**
+     * Adds the page that has just been shown to the navigation history.
+     *
+     * @param category the category of the page.
+     * @param hyperlink the hyperlink that opened the page, or null for the root page of the category.
+     */
+    private void visit(HelpCategory category, String hyperlink) {
+        NavigationHistory.Page page = new NavigationHistory.Page(category, hyperlink);
+        capture(page);
+        history.visit(page);
+    }
+
+    /**
+     * Remembers what is shown as the content of the given page.
+     *
+     * @param page the page that is shown.
+     */
+    private void capture(NavigationHistory.Page page) {
+        page.document = shownDocument;
+        page.gridItems = shownGridItems;
+        page.contentRevision = getContentRevision(page.category);
+    }
+
+    /**
+     * Remembers the scroll position of the current page before another page is shown.
+     */
+    private void leaveCurrentPage() {
+        NavigationHistory.Page page = history.current();
+        if (page != null && page.gridItems != null && itemGrid != null) {
+            page.scrollOffset = itemGrid.getScrollOffset();
+        }
+    }
+
+    /**
+     * Shows a page of the navigation history again. The category is navigated to the page, so that its state matches
+     * what is shown. The retained document or item grid is shown as it was, unless the content of the category changed
+     * since, in which case the category is asked for the page again.
+     *
+     * @param page the page to show.
+     */
+    private void restore(NavigationHistory.Page page) {
+        HelpCategory category = page.category;
+        if (page.hyperlink == null || !category.handleNavigate(page.hyperlink)) {
+            category.resetNavigation();
+        }
+        if (page.contentRevision != getContentRevision(category)) {
+            show(category);
+            capture(page);
+        } else {
+            currentCategory = category;
+            waitingForWarmUp = false;
+            if (page.gridItems != null && itemGrid != null) {
+                showGrid(page.gridItems);
+            } else {
+                showDocument(page.document);
+            }
+        }
+        if (page.gridItems != null && itemGrid != null) {
+            itemGrid.setScrollOffset(page.scrollOffset);
+        }
+    }
+
+    /**
+     * Shows the current document of a category in the browser.
+     *
+     * @param category the category to show.
+     */
+    private void show(HelpCategory category) {
+        if (category == null) {
+            return;
+        }
+        currentCategory = category;
+        waitingForWarmUp = isWarmingUp(category);
+        List<String> gridItems = category instanceof ItemGridHelpCategory
+                ? ((ItemGridHelpCategory) category).getItemGrid()
+                : null;
+        if (gridItems != null && itemGrid != null) {
+            showGrid(gridItems);
+        } else {
+            showDocument(category.getDocumentData());
+        }
+    }
+
+    /**
+     * Shows items in the item grid, hiding the browser.
+     *
+     * @param items the hyperlinks of the items to show.
+     */
+    private void showGrid(List<String> items) {
+        itemGrid.setItems(items);
+        setGridVisible(true);
+        shownGridItems = items;
+        shownDocument = null;
+    }
+
+    /**
+     * Shows a document in the browser, hiding the item grid.
+     *
+     * @param document the document to show.
+     */
+    private void showDocument(DocumentData document) {
+        setGridVisible(false);
+        browser.navigateTo(document);
+        shownDocument = document;
+        shownGridItems = null;
+    }
+
+    /**
+     * Switches between the item grid and the browser.
+     *
+     * @param visible true to show the item grid, false to show the browser.
+     */
+    private void setGridVisible(boolean visible) {
+        if (itemGrid != null) {
+            itemGrid.setVisible(visible);
+        }
+        if (mainContent != null) {
+            mainContent.setVisible(!visible);
+        }
+    }
+
+    /**
+     * @param category a help category.
+     * @return the content revision of the category, or -1 if it does not track one.
+     */
+    private static int getContentRevision(HelpCategory category) {
+        return category instanceof SearchableHelpCategory ? ((SearchableHelpCategory) category).getContentRevision() : -1;
+    }
+
+    /**
+     * @param category a help category.
+     * @return true if the category is still preparing its content in the background.
+     */
+    private static boolean isWarmingUp(HelpCategory category) {
+        return category instanceof WarmUpHelpCategory && ((WarmUpHelpCategory) category).isWarmingUp();
+    }
+
+    /**
+     * The search index of a single category and the content revision of the category it was built for.
+     */
+    private static final class CategorySearchIndex {
+        private final HelpSearchIndex index;
+        private final int contentRevision;
+
+        private CategorySearchIndex(HelpSearchIndex index, int contentRevision) {
+            this.index = index;
+            this.contentRevision = contentRevision;
+        }
     }
 }
@@ -0,0 +1,142 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.inGameHelp.ui;
+
+import org.joml.Vector2i;
+import org.terasology.engine.rendering.nui.widgets.browser.data.DocumentData;
+import org.terasology.engine.rendering.nui.widgets.browser.ui.BrowserWidget;
+import org.terasology.nui.Canvas;
+import org.terasology.nui.skin.UISkin;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Browser widget that remembers the preferred size of the documents it lays out.
+ * <p>
+ * The scrollable area around the browser asks for its preferred size on every frame, which lays out the whole
+ * document. Documents are not modified once shown - categories create a new document when their content changes - so
+ * the size is cached by document identity and available width. Switching back to a recently shown document, or
+ * reopening the help screen, reuses the size until the document or the width changes. The cache only refers to the
+ * documents weakly, so it does not keep documents alive that the categories and the history have let go of.
+ * <p>
+ * Only the preferred size is cached. Drawing still lays out the document on every frame, as {@link BrowserWidget}
+ * lays out and draws in one step and offers no way to reuse a layout.
+ */
+public class LayoutCachingBrowserWidget extends BrowserWidget {
+    /** Maximum number of cached layouts. */
+    private static final int LAYOUT_CACHE_SIZE = 16;
+
+    /** Preferred sizes by document and width, least recently used first. */
+    private final Map<LayoutKey, Vector2i> layoutCache =
+            new LinkedHashMap<LayoutKey, Vector2i>(LAYOUT_CACHE_SIZE, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<LayoutKey, Vector2i> eldest) {
+                    return size() > LAYOUT_CACHE_SIZE;
+                }
+            };
+
+    /** Queue of the keys whose document has been garbage collected. */
+    private final ReferenceQueue<DocumentData> collectedDocuments = new ReferenceQueue<>();
+
+    /** The document currently shown. */
+    private DocumentData document;
+
+    /** Key of the last layout, reused while the document and width stay the same. */
+    private LayoutKey lastKey;
+
+    /** Preferred size of the last layout. */
+    private Vector2i lastSize;
+
+    /** The vector returned as preferred size, reset from {@link #lastSize} on every call. */
+    private final Vector2i preferredSize = new Vector2i();
+
+    @Override
+    public void navigateTo(DocumentData data) {
+        document = data;
+        super.navigateTo(data);
+    }
+
+    @Override
+    public Vector2i getPreferredContentSize(Canvas canvas, Vector2i sizeHint) {
+        if (document == null) {
+            return super.getPreferredContentSize(canvas, sizeHint);
+        }
+        if (lastKey == null || !lastKey.matches(document, sizeHint.x)) {
+            removeCollectedLayouts();
+            lastKey = new LayoutKey(document, sizeHint.x, collectedDocuments);
+            lastSize = layoutCache.get(lastKey);
+            if (lastSize == null) {
+                lastSize = new Vector2i(super.getPreferredContentSize(canvas, sizeHint));
+                layoutCache.put(lastKey, lastSize);
+            }
+        }
+        // callers may modify the returned vector, so it is reset on every call instead of handing out the cached size
+        return preferredSize.set(lastSize);
+    }
+
+    @Override
+    public void setSkin(UISkin skin) {
+        super.setSkin(skin);
+        invalidateLayouts();
+    }
+
+    /**
+     * Removes the cached layouts of documents that have been garbage collected.
+     */
+    private void removeCollectedLayouts() {
+        Reference<? extends DocumentData> collected;
+        while ((collected = collectedDocuments.poll()) != null) {
+            layoutCache.remove(collected);
+        }
+    }
+
+    /**
+     * Forgets all cached layouts, e.g., after fonts changed.
+     */
+    public void invalidateLayouts() {
+        layoutCache.clear();
+        lastKey = null;
+        lastSize = null;
+    }
+
+    /**
+     * Identifies a layout by the identity of the document and the available width. The document is only referred to
+     * weakly; once it has been collected, the key is only equal to itself, so its layout can still be removed.
+     */
+    private static final class LayoutKey extends WeakReference<DocumentData> {
+        private final int width;
+        private final int hash;
+
+        private LayoutKey(DocumentData document, int width, ReferenceQueue<DocumentData> queue) {
+            super(document, queue);
+            this.width = width;
+            this.hash = 31 * System.identityHashCode(document) + width;
+        }
+
+        private boolean matches(DocumentData otherDocument, int otherWidth) {
+            DocumentData document = get();
+            return document != null && document == otherDocument && width == otherWidth;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof LayoutKey)) {
+                return false;
+            }
+            LayoutKey other = (LayoutKey) o;
+            return matches(other.get(), other.width);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
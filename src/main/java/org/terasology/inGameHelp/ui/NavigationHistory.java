@@ -0,0 +1,106 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.inGameHelp.ui;
+
+import com.google.common.collect.Lists;
+import org.terasology.engine.rendering.nui.widgets.browser.data.DocumentData;
+import org.terasology.inGameHelpAPI.systems.HelpCategory;
+
+import java.util.List;
+
+/**
+ * Bounded back and forward history of the help pages shown on the help screen.
+ * <p>
+ * Every page retains the document or item grid it showed, so going back and forward shows it again without asking the
+ * category to rebuild it. The oldest pages are dropped once the history is full.
+ */
+class NavigationHistory {
+    /** The visited pages, oldest first. */
+    private final List<Page> pages = Lists.newArrayList();
+
+    /** Maximum number of pages kept. */
+    private final int capacity;
+
+    /** Index of the current page, or -1 if no page has been visited. */
+    private int current = -1;
+
+    /**
+     * @param capacity the maximum number of pages kept
+     */
+    NavigationHistory(int capacity) {
+        this.capacity = capacity;
+    }
+
+    /**
+     * Adds a page after the current one, dropping all pages that could have been reached by going forward.
+     *
+     * @param page the visited page
+     */
+    void visit(Page page) {
+        pages.subList(current + 1, pages.size()).clear();
+        pages.add(page);
+        if (pages.size() > capacity) {
+            pages.remove(0);
+        }
+        current = pages.size() - 1;
+    }
+
+    /**
+     * @return the current page, or null if no page has been visited.
+     */
+    Page current() {
+        return current >= 0 ? pages.get(current) : null;
+    }
+
+    /**
+     * Goes back one page.
+     *
+     * @return the previous page, which is now the current one, or null if there is none.
+     */
+    Page back() {
+        if (current <= 0) {
+            return null;
+        }
+        return pages.get(--current);
+    }
+
+    /**
+     * Goes forward one page.
+     *
+     * @return the next page, which is now the current one, or null if there is none.
+     */
+    Page forward() {
+        if (current >= pages.size() - 1) {
+            return null;
+        }
+        return pages.get(++current);
+    }
+
+    /**
+     * A visited help page and what it showed when it was left.
+     */
+    static final class Page {
+        /** The category the page belongs to. */
+        final HelpCategory category;
+
+        /** The hyperlink that opened the page, or null for the root page of the category. */
+        final String hyperlink;
+
+        /** The document shown on the page, or null if it showed an item grid. */
+        DocumentData document;
+
+        /** The items shown in the item grid, or null if the page showed a document. */
+        List<String> gridItems;
+
+        /** The scroll offset of the item grid when the page was left. */
+        int scrollOffset;
+
+        /** The content revision of the category when the page was shown, or -1 if the category has none. */
+        int contentRevision;
+
+        Page(HelpCategory category, String hyperlink) {
+            this.category = category;
+            this.hyperlink = hyperlink;
+        }
+    }
+}
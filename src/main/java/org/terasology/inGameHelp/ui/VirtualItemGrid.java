@@ -0,0 +1,233 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.inGameHelp.ui;
+
+import com.google.common.collect.Lists;
+import org.joml.Vector2i;
+import org.terasology.engine.rendering.nui.widgets.browser.ui.BrowserHyperlinkListener;
+import org.terasology.inGameHelp.ItemWidgetCache;
+import org.terasology.inGameHelpAPI.ui.ItemWidget;
+import org.terasology.input.MouseInput;
+import org.terasology.joml.geom.Rectanglei;
+import org.terasology.nui.BaseInteractionListener;
+import org.terasology.nui.Canvas;
+import org.terasology.nui.CoreWidget;
+import org.terasology.nui.InteractionListener;
+import org.terasology.nui.events.NUIMouseClickEvent;
+import org.terasology.nui.events.NUIMouseOverEvent;
+import org.terasology.nui.events.NUIMouseWheelEvent;
+import org.terasology.nui.skin.UISkin;
+import org.terasology.nui.widgets.UIScrollbar;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * Scrollable grid of item icons that only lays out and draws the rows currently in view, plus a small overscan margin.
+ * <p>
+ * {@link ItemWidget}s are taken from the {@link ItemWidgetCache} of the help, so scrolling back and forth reuses the widgets
+ * of recently visible items instead of creating new ones, and opening an item reuses the widget shown in the grid.
+ */
+public class VirtualItemGrid extends CoreWidget {
+    /** Width and height of a grid cell, matching the item icons of the help documents. */
+    private static final int CELL_SIZE = 48;
+
+    /** Number of rows laid out above and below the visible rows. */
+    private static final int OVERSCAN_ROWS = 1;
+
+    /** The hyperlinks of the items in display order. */
+    private List<String> items = Collections.emptyList();
+
+    /** The cache to take the widgets of the items from, or null if no items can be drawn yet. */
+    private ItemWidgetCache widgetCache;
+
+    private final UIScrollbar scrollbar = new UIScrollbar(true);
+    private final List<BrowserHyperlinkListener> listeners = Lists.newArrayList();
+    private final List<Consumer<String>> hoverListeners = Lists.newArrayList();
+
+    /** The hyperlink of the item under the mouse, or null if there is none. */
+    private String hoveredItem;
+
+    /** Region of the cell being drawn, reused for every cell. */
+    private final Rectanglei cellRegion = new Rectanglei();
+
+    /** Number of columns of the last layout. */
+    private int columns = 1;
+
+    /** Preferred width of the scrollbar, or -1 if it has not been measured yet. It only depends on the skin. */
+    private int scrollbarWidth = -1;
+
+    /** Preferred size of the grid, reused for every layout. */
+    private final Vector2i preferredSize = new Vector2i();
+
+    private final InteractionListener interactionListener = new BaseInteractionListener() {
+        @Override
+        public boolean onMouseClick(NUIMouseClickEvent event) {
+            if (event.getMouseButton() == MouseInput.MOUSE_LEFT) {
+                String hyperlink = getItemAt(event.getRelativeMousePosition());
+                if (hyperlink != null) {
+                    for (BrowserHyperlinkListener listener : listeners) {
+                        listener.hyperlinkClicked(hyperlink);
+                    }
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public void onMouseOver(NUIMouseOverEvent event) {
+            setHoveredItem(getItemAt(event.getRelativeMousePosition()));
+        }
+
+        @Override
+        public void onMouseLeave() {
+            setHoveredItem(null);
+        }
+
+        @Override
+        public boolean onMouseWheel(NUIMouseWheelEvent event) {
+            setScrollOffset(getScrollOffset() - event.getWheelTurns() * CELL_SIZE);
+            return true;
+        }
+    };
+
+    public VirtualItemGrid() {
+    }
+
+    public VirtualItemGrid(String id) {
+        super(id);
+    }
+
+    /**
+     * Sets the items to show. The scroll position is reset if the items change.
+     *
+     * @param hyperlinks the hyperlinks of the items in display order
+     */
+    public void setItems(List<String> hyperlinks) {
+        if (hyperlinks != items) {
+            items = hyperlinks;
+            scrollbar.setValue(0);
+        }
+    }
+
+    /**
+     * @param widgetCache the cache to take the widgets of the items from.
+     */
+    public void setWidgetCache(ItemWidgetCache widgetCache) {
+        this.widgetCache = widgetCache;
+    }
+
+    /**
+     * @return the vertical scroll offset in pixels.
+     */
+    public int getScrollOffset() {
+        return scrollbar.getValue();
+    }
+
+    /**
+     * @param offset the vertical scroll offset in pixels, clamped to the scrollable range
+     */
+    public void setScrollOffset(int offset) {
+        scrollbar.setValue(Math.max(0, Math.min(offset, scrollbar.getRange())));
+    }
+
+    /**
+     * Adds a listener that is notified with the item's hyperlink when an item is clicked.
+     *
+     * @param listener the listener to add
+     */
+    public void addHyperlinkListener(BrowserHyperlinkListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Adds a listener that is notified with the item's hyperlink when the mouse moves onto an item, and with null when
+     * it leaves the items.
+     *
+     * @param listener the listener to add
+     */
+    public void addHoverListener(Consumer<String> listener) {
+        hoverListeners.add(listener);
+    }
+
+    private void setHoveredItem(String hyperlink) {
+        if (!Objects.equals(hyperlink, hoveredItem)) {
+            hoveredItem = hyperlink;
+            for (Consumer<String> listener : hoverListeners) {
+                listener.accept(hyperlink);
+            }
+        }
+    }
+
+    @Override
+    public void onDraw(Canvas canvas) {
+        // measuring and querying the canvas allocates vectors, so both are done as rarely as possible; the size is
+        // the only way to learn the drawn region and does not escape this method
+        if (scrollbarWidth < 0) {
+            scrollbarWidth = canvas.calculatePreferredSize(scrollbar).x;
+        }
+        Vector2i size = canvas.size();
+        int width = size.x - scrollbarWidth;
+        int height = size.y;
+
+        columns = Math.max(1, width / CELL_SIZE);
+        int rows = (items.size() + columns - 1) / columns;
+        int visibleRows = (height + CELL_SIZE - 1) / CELL_SIZE;
+        if (widgetCache == null) {
+            return;
+        }
+        widgetCache.ensureCapacity(2 * (visibleRows + 2 * OVERSCAN_ROWS + 1) * columns);
+        scrollbar.setRange(Math.max(0, rows * CELL_SIZE - height));
+
+        int offset = scrollbar.getValue();
+        int firstRow = Math.max(0, offset / CELL_SIZE - OVERSCAN_ROWS);
+        int lastRow = Math.min(rows - 1, (offset + height) / CELL_SIZE + OVERSCAN_ROWS);
+
+        canvas.addInteractionRegion(interactionListener);
+        for (int row = firstRow; row <= lastRow; row++) {
+            int y = row * CELL_SIZE - offset;
+            for (int column = 0; column < columns; column++) {
+                int index = row * columns + column;
+                if (index >= items.size()) {
+                    break;
+                }
+                int x = column * CELL_SIZE;
+                canvas.drawWidget(widgetCache.get(items.get(index)), cellRegion.setMin(x, y).setMax(x + CELL_SIZE, y + CELL_SIZE));
+            }
+        }
+
+        canvas.drawWidget(scrollbar, cellRegion.setMin(width, 0).setMax(width + scrollbarWidth, height));
+    }
+
+    /**
+     * @param position a position relative to this widget
+     * @return the hyperlink of the item at the position, or null if there is none
+     */
+    private String getItemAt(Vector2i position) {
+        int column = position.x / CELL_SIZE;
+        if (position.x < 0 || position.y < 0 || column >= columns) {
+            return null;
+        }
+        int index = (position.y + scrollbar.getValue()) / CELL_SIZE * columns + column;
+        return index < items.size() ? items.get(index) : null;
+    }
+
+    @Override
+    public void setSkin(UISkin skin) {
+        super.setSkin(skin);
+        scrollbarWidth = -1;
+    }
+
+    /**
+     * The grid fills whatever space it is given.
+     *
+     * @return the size hint, in a vector owned by this grid that is reused for every layout
+     */
+    @Override
+    public Vector2i getPreferredContentSize(Canvas canvas, Vector2i sizeHint) {
+        return preferredSize.set(sizeHint);
+    }
+}
@@ -0,0 +1,56 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.inGameHelp;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measurements of the heap and the garbage collector for tests that log memory use and GC pauses.
+ * <p>
+ * The numbers depend on the JVM and what else it is doing, so they are meant to be logged, not asserted on.
+ */
+public final class HeapMeasurements {
+    private HeapMeasurements() {
+    }
+
+    /**
+     * @return the used heap once garbage collection no longer frees anything
+     */
+    public static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        long used = Long.MAX_VALUE;
+        // a single collection that frees nothing does not mean the heap has settled, e.g., while references are
+        // still being cleared, so the collections go on until several in a row free nothing
+        int settledCollections = 0;
+        for (int i = 0; i < 20 && settledCollections < 3; i++) {
+            System.gc();
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            long current = runtime.totalMemory() - runtime.freeMemory();
+            if (current < used) {
+                used = current;
+                settledCollections = 0;
+            } else {
+                settledCollections++;
+            }
+        }
+        return used;
+    }
+
+    /**
+     * @return the accumulated time of all garbage collections so far
+     */
+    public static long gcNanos() {
+        long millis = 0;
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            millis += Math.max(collector.getCollectionTime(), 0);
+        }
+        return TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+}
@@ -0,0 +1,132 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.inGameHelp;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Maps;
+import org.mockito.Mockito;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.terasology.engine.entitySystem.prefab.Prefab;
+import org.terasology.engine.entitySystem.prefab.PrefabManager;
+import org.terasology.gestalt.assets.ResourceUrn;
+import org.terasology.gestalt.entitysystem.component.Component;
+
+import java.util.Collection;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * Stand-ins for loaded prefabs, so the help systems can be run without the engine's asset system.
+ * <p>
+ * The stand-ins answer the prefab methods the help systems use from plain fields, without recording invocations, so
+ * tens of thousands of them can be created and queried cheaply. Their components can be replaced to simulate the
+ * engine reloading a prefab in place.
+ */
+public final class TestPrefabs {
+    private TestPrefabs() {
+    }
+
+    /**
+     * Creates a stand-in for a loaded prefab.
+     *
+     * @param name the name of the prefab, i.e., its URN
+     * @param components the components of the prefab
+     * @return the prefab stand-in
+     */
+    public static Prefab prefab(String name, Component<?>... components) {
+        return mock(Prefab.class, withSettings().stubOnly().defaultAnswer(new PrefabAnswer(name, components)));
+    }
+
+    /**
+     * Creates a stand-in for the prefab manager that lists the given prefabs, also when they are changed later on.
+     *
+     * @param loadedPrefabs the loaded prefabs
+     * @return the prefab manager stand-in
+     */
+    public static PrefabManager prefabManager(Collection<Prefab> loadedPrefabs) {
+        PrefabManager prefabManager = mock(PrefabManager.class);
+        when(prefabManager.listPrefabs()).thenAnswer(invocation -> ImmutableList.copyOf(loadedPrefabs));
+        when(prefabManager.listPrefabs(any())).thenAnswer(invocation -> {
+            Class<? extends Component> componentClass = invocation.getArgument(0);
+            return loadedPrefabs.stream()
+                    .filter(prefab -> prefab.hasComponent(componentClass))
+                    .collect(ImmutableList.toImmutableList());
+        });
+        return prefabManager;
+    }
+
+    /**
+     * Replaces the components of a prefab stand-in, as the engine does when it reloads a prefab.
+     *
+     * @param prefab a prefab created by {@link #prefab(String, Component[])}
+     * @param components the new components of the prefab
+     */
+    public static void reload(Prefab prefab, Component<?>... components) {
+        answerOf(prefab).setComponents(components);
+    }
+
+    /**
+     * Marks a prefab stand-in as disposed.
+     *
+     * @param prefab a prefab created by {@link #prefab(String, Component[])}
+     */
+    public static void dispose(Prefab prefab) {
+        answerOf(prefab).disposed = true;
+    }
+
+    private static PrefabAnswer answerOf(Prefab prefab) {
+        return (PrefabAnswer) Mockito.mockingDetails(prefab).getMockCreationSettings().getDefaultAnswer();
+    }
+
+    /**
+     * Answers the prefab methods from the state of a single prefab stand-in.
+     */
+    private static final class PrefabAnswer implements Answer<Object> {
+        private final String name;
+        private final ResourceUrn urn;
+        private volatile Map<Class<?>, Component<?>> components;
+        private volatile boolean disposed;
+
+        private PrefabAnswer(String name, Component<?>... components) {
+            this.name = name;
+            this.urn = new ResourceUrn(name);
+            setComponents(components);
+        }
+
+        private void setComponents(Component<?>... newComponents) {
+            Map<Class<?>, Component<?>> byType = Maps.newHashMapWithExpectedSize(newComponents.length);
+            for (Component<?> component : newComponents) {
+                byType.put(component.getClass(), component);
+            }
+            components = byType;
+        }
+
+        @Override
+        public Object answer(InvocationOnMock invocation) throws Throwable {
+            switch (invocation.getMethod().getName()) {
+                case "getName":
+                case "toString":
+                    return name;
+                case "getUrn":
+                    return urn;
+                case "getComponent":
+                    return components.get(invocation.<Class<?>>getArgument(0));
+                case "hasComponent":
+                    return components.containsKey(invocation.<Class<?>>getArgument(0));
+                case "iterateComponents":
+                    return ImmutableList.copyOf(components.values());
+                case "isDisposed":
+                    return disposed;
+                case "exists":
+                    return true;
+                default:
+                    return Mockito.RETURNS_DEFAULTS.answer(invocation);
+            }
+        }
+    }
+}
@@ -0,0 +1,98 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.inGameHelp.helpCategories;
+
+import org.junit.jupiter.api.Test;
+import org.terasology.engine.rendering.nui.widgets.browser.data.DocumentData;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.mockito.Mockito.mock;
+
+public class DocumentCacheTest {
+    @Test
+    public void testDocumentIsBuiltOnce() {
+        DocumentCache<String> cache = new DocumentCache<>(2);
+        DocumentData document = mock(DocumentData.class);
+
+        assertSame(document, cache.get("a", () -> document));
+        assertSame(document, cache.get("a", DocumentCacheTest::unexpectedBuild));
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+    }
+
+    @Test
+    public void testLeastRecentlyUsedDocumentIsEvicted() {
+        DocumentCache<String> cache = new DocumentCache<>(2);
+        cache.get("a", () -> mock(DocumentData.class));
+        cache.get("b", () -> mock(DocumentData.class));
+        cache.get("a", DocumentCacheTest::unexpectedBuild);
+
+        cache.get("c", () -> mock(DocumentData.class));
+
+        assertTrue(cache.contains("a"));
+        assertFalse(cache.contains("b"));
+        assertTrue(cache.contains("c"));
+        assertEquals(1, cache.getHits());
+        assertEquals(3, cache.getMisses());
+    }
+
+    @Test
+    public void testContainsDoesNotAffectEviction() {
+        DocumentCache<String> cache = new DocumentCache<>(2);
+        cache.get("a", () -> mock(DocumentData.class));
+        cache.get("b", () -> mock(DocumentData.class));
+        assertTrue(cache.contains("a"));
+
+        cache.get("c", () -> mock(DocumentData.class));
+
+        assertFalse(cache.contains("a"));
+        assertTrue(cache.contains("b"));
+        assertEquals(0, cache.getHits());
+    }
+
+    @Test
+    public void testPutDocumentIsNotAMiss() {
+        DocumentCache<String> cache = new DocumentCache<>(2);
+        DocumentData document = mock(DocumentData.class);
+
+        cache.put("a", document);
+
+        assertSame(document, cache.get("a", DocumentCacheTest::unexpectedBuild));
+        assertEquals(1, cache.getHits());
+        assertEquals(0, cache.getMisses());
+    }
+
+    @Test
+    public void testInvalidatedDocumentIsRebuilt() {
+        DocumentCache<String> cache = new DocumentCache<>(2);
+        DocumentData stale = cache.get("a", () -> mock(DocumentData.class));
+        cache.get("b", () -> mock(DocumentData.class));
+
+        cache.invalidate("a");
+
+        assertFalse(cache.contains("a"));
+        assertTrue(cache.contains("b"));
+        assertNotSame(stale, cache.get("a", () -> mock(DocumentData.class)));
+    }
+
+    @Test
+    public void testClearRemovesAllDocuments() {
+        DocumentCache<String> cache = new DocumentCache<>(2);
+        cache.get("a", () -> mock(DocumentData.class));
+        cache.get("b", () -> mock(DocumentData.class));
+
+        cache.clear();
+
+        assertFalse(cache.contains("a"));
+        assertFalse(cache.contains("b"));
+    }
+
+    private static DocumentData unexpectedBuild() {
+        return fail("the cached document was built again");
+    }
+}
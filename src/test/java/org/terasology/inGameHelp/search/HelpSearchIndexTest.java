@@ -0,0 +1,141 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.inGameHelp.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class HelpSearchIndexTest {
+    private HelpSearchIndex index;
+
+    @BeforeEach
+    public void setUp() {
+        index = new HelpSearchIndex();
+        index.add("Test:stone", "Stone", "Stone", HelpSearchIndex.NAME_WEIGHT);
+        index.add("Test:stone", "Stone", "A <b>solid</b> cube, mined with a pickaxe.", HelpSearchIndex.TEXT_WEIGHT);
+        index.add("Test:torch", "Torch", "Torch", HelpSearchIndex.NAME_WEIGHT);
+        index.add("Test:torch", "Torch", "Placed on stone walls to light up caves.", HelpSearchIndex.TEXT_WEIGHT);
+        index.add("Test:pickaxe", "Pickaxe", "Pickaxe", HelpSearchIndex.NAME_WEIGHT);
+        index.add("Test:pickaxe", "Pickaxe", "Crafting", HelpSearchIndex.TITLE_WEIGHT);
+        index.add("Test:pickaxe", "Pickaxe", "Mines stone and ore.", HelpSearchIndex.TEXT_WEIGHT);
+    }
+
+    @Test
+    public void testTermsMatchTokenPrefixes() {
+        assertEquals(List.of("Test:pickaxe", "Test:stone"), hyperlinks(index.search("pick", 10)));
+        assertEquals(List.of("Test:torch"), hyperlinks(index.search("cave", 10)));
+    }
+
+    @Test
+    public void testAllTermsMustMatch() {
+        assertEquals(List.of("Test:pickaxe", "Test:stone"), hyperlinks(index.search("stone pickaxe", 10)));
+        assertEquals(List.of("Test:torch"), hyperlinks(index.search("stone light", 10)));
+        assertTrue(index.search("stone missing", 10).isEmpty());
+    }
+
+    @Test
+    public void testResultsAreOrderedByScoreThenTitle() {
+        List<HelpSearchIndex.Result> results = index.search("stone", 10);
+
+        assertEquals(List.of("Test:stone", "Test:pickaxe", "Test:torch"), hyperlinks(results));
+        assertEquals(HelpSearchIndex.NAME_WEIGHT, results.get(0).getScore());
+        assertEquals(HelpSearchIndex.TEXT_WEIGHT, results.get(1).getScore());
+        assertEquals("Pickaxe", results.get(1).getTitle());
+    }
+
+    @Test
+    public void testWeightsOfMatchingTokensAreSummed() {
+        List<HelpSearchIndex.Result> results = index.search("pickaxe", 10);
+
+        assertEquals("Test:pickaxe", results.get(0).getHyperlink());
+        assertEquals(HelpSearchIndex.NAME_WEIGHT, results.get(0).getScore());
+        assertEquals(HelpSearchIndex.TEXT_WEIGHT, results.get(1).getScore());
+        assertEquals(HelpSearchIndex.NAME_WEIGHT + HelpSearchIndex.TITLE_WEIGHT,
+                index.search("pickaxe crafting", 10).get(0).getScore());
+    }
+
+    @Test
+    public void testMarkupAndCaseAreIgnored() {
+        assertEquals(List.of("Test:stone"), hyperlinks(index.search("SOLID", 10)));
+        assertTrue(index.search("b", 10).isEmpty());
+    }
+
+    @Test
+    public void testResultsAreLimited() {
+        assertEquals(List.of("Test:stone", "Test:pickaxe"), hyperlinks(index.search("stone", 2)));
+    }
+
+    @Test
+    public void testQueryWithoutTermsFindsNothing() {
+        assertTrue(index.search("", 10).isEmpty());
+        assertTrue(index.search(" ,. ", 10).isEmpty());
+    }
+
+    @Test
+    public void testTypedQueryFindsTheSameAsAFreshSearch() {
+        String[] typed = {"s", "st", "sto", "ston", "stone", "stone ", "stone w", "stone wa", "stone w", "stone", "st"};
+        for (String query : typed) {
+            HelpSearchIndex fresh = new HelpSearchIndex();
+            fresh.add("Test:stone", "Stone", "Stone", HelpSearchIndex.NAME_WEIGHT);
+            fresh.add("Test:stone", "Stone", "A <b>solid</b> cube, mined with a pickaxe.", HelpSearchIndex.TEXT_WEIGHT);
+            fresh.add("Test:torch", "Torch", "Torch", HelpSearchIndex.NAME_WEIGHT);
+            fresh.add("Test:torch", "Torch", "Placed on stone walls to light up caves.", HelpSearchIndex.TEXT_WEIGHT);
+            fresh.add("Test:pickaxe", "Pickaxe", "Pickaxe", HelpSearchIndex.NAME_WEIGHT);
+            fresh.add("Test:pickaxe", "Pickaxe", "Crafting", HelpSearchIndex.TITLE_WEIGHT);
+            fresh.add("Test:pickaxe", "Pickaxe", "Mines stone and ore.", HelpSearchIndex.TEXT_WEIGHT);
+
+            assertEquals(hyperlinks(fresh.search(query, 10)), hyperlinks(index.search(query, 10)), query);
+        }
+    }
+
+    @Test
+    public void testContentAddedAfterASearchIsFound() {
+        assertEquals(List.of("Test:torch"), hyperlinks(index.search("wall", 10)));
+
+        index.add("Test:brick", "Brick", "Builds walls.", HelpSearchIndex.TEXT_WEIGHT);
+
+        assertEquals(List.of("Test:brick", "Test:torch"), hyperlinks(index.search("wall", 10)));
+    }
+
+    @Test
+    public void testClearRemovesAllContent() {
+        index.search("stone", 10);
+
+        index.clear();
+
+        assertTrue(index.search("stone", 10).isEmpty());
+        index.add("Test:stone", "Stone", "Stone", HelpSearchIndex.NAME_WEIGHT);
+        assertEquals(List.of("Test:stone"), hyperlinks(index.search("stone", 10)));
+    }
+
+    @Test
+    public void testUntitledResultsAreOrderedLast() {
+        index.add("Test:cobble", null, "Cobble stone", HelpSearchIndex.NAME_WEIGHT);
+
+        assertEquals(List.of("Test:stone", "Test:cobble", "Test:pickaxe", "Test:torch"),
+                hyperlinks(index.search("stone", 10)));
+    }
+
+    @Test
+    public void testMergedResultsAreRankedTogether() {
+        HelpSearchIndex other = new HelpSearchIndex();
+        other.add("Test:basics", "Basics", "Mine stone with a pickaxe.", HelpSearchIndex.TEXT_WEIGHT);
+        other.add("Test:granite", "Granite", "Granite", HelpSearchIndex.NAME_WEIGHT);
+        other.add("Test:granite", "Granite", "A kind of stone.", HelpSearchIndex.TEXT_WEIGHT);
+
+        List<HelpSearchIndex.Result> merged = HelpSearchIndex.merge(
+                List.of(index.search("stone", 10), other.search("stone", 10)), 4);
+
+        assertEquals(List.of("Test:stone", "Test:basics", "Test:granite", "Test:pickaxe"), hyperlinks(merged));
+    }
+
+    private static List<String> hyperlinks(List<HelpSearchIndex.Result> results) {
+        return results.stream().map(HelpSearchIndex.Result::getHyperlink).collect(Collectors.toList());
+    }
+}
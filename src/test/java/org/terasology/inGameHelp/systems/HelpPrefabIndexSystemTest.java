@@ -0,0 +1,157 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.inGameHelp.systems;
+
+import com.google.common.collect.Lists;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.terasology.engine.entitySystem.prefab.Prefab;
+import org.terasology.engine.entitySystem.prefab.PrefabManager;
+import org.terasology.inGameHelp.HelpPrefabIndex;
+import org.terasology.inGameHelp.TestPrefabs;
+import org.terasology.inGameHelp.components.GeneralHelpComponent;
+import org.terasology.inGameHelpAPI.components.ItemHelpComponent;
+
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+public class HelpPrefabIndexSystemTest {
+    private HelpPrefabIndexSystem index;
+    private PrefabManager prefabManager;
+    private List<Prefab> loadedPrefabs;
+    private Prefab stone;
+    private Prefab basics;
+    private final List<Collection<Prefab>> changedNotifications = Lists.newArrayList();
+    private final List<Collection<Prefab>> removedNotifications = Lists.newArrayList();
+
+    @BeforeEach
+    public void setUp() {
+        stone = TestPrefabs.prefab("Test:stone", new ItemHelpComponent());
+        basics = TestPrefabs.prefab("Test:basics", new GeneralHelpComponent());
+        loadedPrefabs = Lists.newArrayList(stone, basics, TestPrefabs.prefab("Test:air"));
+
+        index = new HelpPrefabIndexSystem();
+        prefabManager = TestPrefabs.prefabManager(loadedPrefabs);
+        index.prefabManager = prefabManager;
+        index.subscribe(new HelpPrefabIndex.ChangeListener() {
+            @Override
+            public void onHelpPrefabsChanged(Collection<Prefab> changed, Collection<Prefab> removed) {
+                changedNotifications.add(changed);
+                removedNotifications.add(removed);
+            }
+        });
+    }
+
+    @Test
+    public void testIndexContainsLoadedHelpPrefabs() {
+        assertEquals(List.of(stone), List.copyOf(index.getItemHelpPrefabs()));
+        assertEquals(List.of(basics), index.getGeneralHelpPrefabs());
+        assertFalse(index.getPrefab("Test:air").isPresent());
+        // only prefabs with help are visited
+        verify(prefabManager, never()).listPrefabs();
+    }
+
+    @Test
+    public void testNewPrefabsArePickedUp() {
+        int revision = index.getRevision();
+        Prefab torch = TestPrefabs.prefab("Test:torch", new ItemHelpComponent());
+        Prefab mining = TestPrefabs.prefab("Test:mining", new GeneralHelpComponent());
+        loadedPrefabs.add(torch);
+        loadedPrefabs.add(mining);
+
+        index.setChangeChecksActive(true);
+        runChangeCheck();
+
+        assertTrue(index.getRevision() > revision);
+        assertTrue(index.getItemHelpPrefabs().contains(torch));
+        assertTrue(index.getGeneralHelpPrefabs().contains(mining));
+        assertEquals(torch, index.getPrefab("Test:torch").get());
+        assertEquals(List.of(List.of(torch, mining)), changedNotifications);
+    }
+
+    @Test
+    public void testReloadedPrefabsArePickedUp() {
+        index.getRevision();
+        int generalHelpRevision = index.getGeneralHelpRevision();
+        TestPrefabs.reload(stone, new ItemHelpComponent());
+
+        index.setChangeChecksActive(true);
+        runChangeCheck();
+
+        assertEquals(List.of(List.of(stone)), changedNotifications);
+        assertEquals(generalHelpRevision, index.getGeneralHelpRevision());
+    }
+
+    @Test
+    public void testPrefabsThatLostTheirHelpAreRemoved() {
+        index.getRevision();
+        TestPrefabs.reload(stone);
+
+        index.setChangeChecksActive(true);
+        runChangeCheck();
+
+        assertTrue(index.getItemHelpPrefabs().isEmpty());
+        assertEquals(List.of(List.of(stone)), changedNotifications);
+    }
+
+    @Test
+    public void testDisposedPrefabsAreRemoved() {
+        index.getRevision();
+        int generalHelpRevision = index.getGeneralHelpRevision();
+        TestPrefabs.dispose(basics);
+        loadedPrefabs.remove(basics);
+
+        index.setChangeChecksActive(true);
+        runChangeCheck();
+
+        assertTrue(index.getGeneralHelpPrefabs().isEmpty());
+        assertFalse(index.getPrefab("Test:basics").isPresent());
+        assertEquals(List.of(List.of(basics)), removedNotifications);
+        assertTrue(index.getGeneralHelpRevision() > generalHelpRevision);
+    }
+
+    @Test
+    public void testNothingIsCheckedWhileInactive() {
+        int revision = index.getRevision();
+        loadedPrefabs.add(TestPrefabs.prefab("Test:torch", new ItemHelpComponent()));
+
+        for (int frame = 0; frame < 10; frame++) {
+            index.update(HelpPrefabIndexSystem.CHANGE_CHECK_INTERVAL);
+        }
+
+        assertEquals(revision, index.getRevision());
+        assertTrue(changedNotifications.isEmpty());
+    }
+
+    @Test
+    public void testDeactivatingStopsTheRunningCheck() {
+        index.getRevision();
+        for (int i = 0; i < HelpPrefabIndexSystem.CHANGE_CHECK_BATCH_SIZE; i++) {
+            loadedPrefabs.add(TestPrefabs.prefab("Test:item" + i, new ItemHelpComponent()));
+        }
+
+        index.setChangeChecksActive(true);
+        index.update(0f);
+        index.setChangeChecksActive(false);
+        index.update(HelpPrefabIndexSystem.CHANGE_CHECK_INTERVAL);
+        index.update(HelpPrefabIndexSystem.CHANGE_CHECK_INTERVAL);
+
+        assertTrue(changedNotifications.isEmpty());
+    }
+
+    /**
+     * Runs frames until the running check for changed prefabs has applied what it found.
+     */
+    private void runChangeCheck() {
+        int revision = index.getRevision();
+        for (int frame = 0; frame < 100 && index.getRevision() == revision; frame++) {
+            index.update(0f);
+        }
+    }
+}
@@ -0,0 +1,517 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.inGameHelp.systems;
+
+import com.google.common.collect.Iterables;
+import com.google.common.collect.Lists;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.mockito.Answers;
+import org.mockito.MockedConstruction;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.terasology.engine.context.Context;
+import org.terasology.engine.core.module.SandboxFileManager;
+import org.terasology.engine.entitySystem.entity.EntityRef;
+import org.terasology.engine.entitySystem.prefab.Prefab;
+import org.terasology.engine.entitySystem.prefab.PrefabManager;
+import org.terasology.engine.input.InputSystem;
+import org.terasology.engine.logic.common.DisplayNameComponent;
+import org.terasology.engine.logic.players.LocalPlayer;
+import org.terasology.engine.logic.players.event.LocalPlayerInitializedEvent;
+import org.terasology.engine.registry.CoreRegistry;
+import org.terasology.engine.rendering.assets.font.Font;
+import org.terasology.engine.rendering.nui.NUIManager;
+import org.terasology.engine.rendering.nui.widgets.browser.data.DocumentData;
+import org.terasology.engine.rendering.nui.widgets.browser.ui.BrowserWidget;
+import org.terasology.engine.world.WorldProvider;
+import org.terasology.gestalt.assets.management.AssetManager;
+import org.terasology.inGameHelp.HeapMeasurements;
+import org.terasology.inGameHelp.HelpPrefabIndex;
+import org.terasology.inGameHelp.InGameHelpCategoryRegistry;
+import org.terasology.inGameHelp.InGameHelpMetrics;
+import org.terasology.inGameHelp.ItemWidgetCache;
+import org.terasology.inGameHelp.TestPrefabs;
+import org.terasology.inGameHelp.WarmUpHelpCategory;
+import org.terasology.inGameHelp.components.GeneralHelpComponent;
+import org.terasology.inGameHelp.ui.HelpRenderStyles;
+import org.terasology.inGameHelp.ui.InGameHelpButton;
+import org.terasology.inGameHelp.ui.InGameHelpScreen;
+import org.terasology.inGameHelp.ui.VirtualItemGrid;
+import org.terasology.inGameHelpAPI.components.ItemHelpComponent;
+import org.terasology.inGameHelpAPI.systems.HelpCategory;
+import org.terasology.inGameHelpAPI.ui.ItemWidget;
+import org.terasology.input.ButtonState;
+import org.terasology.nui.layouts.FlowLayout;
+import org.terasology.nui.widgets.ActivateEventListener;
+import org.terasology.nui.widgets.UIButton;
+import org.terasology.nui.widgets.UIText;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockConstruction;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * Runs the help with 50k synthetic prefabs through many cycles of opening and closing the help screen, navigation,
+ * category switches, searches and prefab reloads, and checks latency percentiles and heap growth against budgets.
+ * <p>
+ * The help screen and the client system are the real ones; the NUI manager, the widgets of the screen layout, the
+ * asset manager and the engine context are stand-ins. The budgets are generous enough for a loaded build machine; they
+ * catch work that scales with the number of prefabs where it should not, and caches that grow without bound. Garbage
+ * collection pauses are left out of the latencies, as most of the garbage comes from the prefab stand-ins; retained
+ * memory is covered by the heap growth budget instead. The measured numbers are logged.
+ * <p>
+ * The soak takes minutes and depends on the load of the machine, so it only runs when the system property
+ * {@code inGameHelp.soak} is {@code true}.
+ */
+@Tag("soak")
+@EnabledIfSystemProperty(named = "inGameHelp.soak", matches = "true")
+public class HelpSoakTest {
+    private static final Logger logger = LoggerFactory.getLogger(HelpSoakTest.class);
+
+    private static final String SCREEN_URI = "InGameHelp:InGameHelpScreen";
+    private static final String TITLE_FONT_URN = "engine:NotoSans-Regular-Title";
+
+    private static final int ITEM_PREFABS = 45_000;
+    private static final int GENERAL_HELP_PREFABS = 5_000;
+
+    private static final int WARM_UP_CYCLES = 3;
+    private static final int CYCLES = 20;
+    private static final int NAVIGATIONS_PER_CYCLE = 500;
+    private static final int SEARCHES_PER_CYCLE = 20;
+    private static final int RELOADS_PER_CYCLE = 50;
+    private static final int IDLE_FRAMES_PER_CYCLE = 100;
+    private static final long WARM_UP_TIMEOUT = TimeUnit.MINUTES.toMillis(2);
+
+    private static final long NAVIGATION_P50_BUDGET = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long NAVIGATION_P99_BUDGET = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long CATEGORY_SWITCH_P99_BUDGET = TimeUnit.MILLISECONDS.toNanos(100);
+    /** Searches after prefab reloads rebuild the index of the changed categories, which is part of the budget. */
+    private static final long SEARCH_P50_BUDGET = TimeUnit.MILLISECONDS.toNanos(10);
+    /**
+     * A change check runs in the background of every frame, so a single step has to fit within a frame. Most of the
+     * time goes into the prefab stand-ins, which are far slower to query than loaded prefabs.
+     */
+    private static final long CHANGE_CHECK_FRAME_P99_BUDGET = TimeUnit.MILLISECONDS.toNanos(16);
+    /** While the help screen is closed, the help must cost next to nothing per frame. */
+    private static final long IDLE_FRAME_P99_BUDGET = TimeUnit.MICROSECONDS.toNanos(100);
+    private static final long HEAP_GROWTH_BUDGET = 16L * 1024 * 1024;
+
+    private final Random random = new Random(42);
+
+    private List<Prefab> itemPrefabs;
+    private List<Prefab> generalHelpPrefabs;
+    private HelpPrefabIndexSystem helpPrefabIndex;
+    private InGameHelpCommonSystem categoryRegistry;
+    private InGameHelpClientSystem client;
+    private InGameHelpScreen screen;
+    private AssetManager assetManager;
+    private EntityRef clientEntity;
+    private MockedConstruction<UIButton> buttonConstruction;
+
+    /** The listeners of the category buttons, in the order of the categories. */
+    private final List<ActivateEventListener> categoryButtonListeners = Lists.newArrayList();
+    private final StringBuilder searchText = new StringBuilder();
+    private boolean screenOpen;
+    private DocumentData shownDocument;
+
+    private final List<Long> navigationTimes = Lists.newArrayList();
+    private final List<Long> categorySwitchTimes = Lists.newArrayList();
+    private final List<Long> searchTimes = Lists.newArrayList();
+    private final List<Long> changeCheckFrameTimes = Lists.newArrayList();
+    private final List<Long> idleFrameTimes = Lists.newArrayList();
+
+    private long timingStart;
+    private long timingStartGc;
+
+    @BeforeEach
+    public void setUp() throws InterruptedException {
+        // stand-ins that are used throughout the soak are stub-only, as recorded invocations would show as heap growth
+        ItemWidget widget = mock(ItemWidget.class, withSettings().stubOnly());
+
+        itemPrefabs = Lists.newArrayListWithCapacity(ITEM_PREFABS);
+        for (int i = 0; i < ITEM_PREFABS; i++) {
+            itemPrefabs.add(TestPrefabs.prefab("Soak:item" + i, itemHelp(i, 0), displayName(i)));
+        }
+        generalHelpPrefabs = Lists.newArrayListWithCapacity(GENERAL_HELP_PREFABS);
+        for (int i = 0; i < GENERAL_HELP_PREFABS; i++) {
+            generalHelpPrefabs.add(TestPrefabs.prefab("Soak:general" + i, generalHelp(i, 0)));
+        }
+        List<Prefab> allPrefabs = Lists.newArrayList(itemPrefabs);
+        allPrefabs.addAll(generalHelpPrefabs);
+        PrefabManager prefabManager = TestPrefabs.prefabManager(allPrefabs);
+
+        helpPrefabIndex = new HelpPrefabIndexSystem();
+        helpPrefabIndex.prefabManager = prefabManager;
+        ItemsCategoryInGameHelpCommonSystem itemsRegistry = new ItemsCategoryInGameHelpCommonSystem();
+        itemsRegistry.helpPrefabIndex = helpPrefabIndex;
+        itemsRegistry.initialise();
+        ItemWidgetCacheSystem itemWidgetCache = new ItemWidgetCacheSystem(hyperlink -> widget);
+        categoryRegistry = new InGameHelpCommonSystem();
+        categoryRegistry.helpPrefabIndex = helpPrefabIndex;
+        categoryRegistry.itemsCategoryInGameHelpRegistry = itemsRegistry;
+        categoryRegistry.metrics = InGameHelpMetrics.NONE;
+        categoryRegistry.itemWidgetCache = itemWidgetCache;
+        categoryRegistry.initialise();
+
+        assetManager = mock(AssetManager.class);
+        Font titleFont = mock(Font.class, withSettings().stubOnly());
+        doReturn(Optional.of(titleFont)).when(assetManager).getAsset(anyString(), eq(Font.class));
+        Context context = mock(Context.class);
+        when(context.get(InGameHelpCategoryRegistry.class)).thenReturn(categoryRegistry);
+        when(context.get(InGameHelpMetrics.class)).thenReturn(InGameHelpMetrics.NONE);
+        when(context.get(ItemWidgetCache.class)).thenReturn(itemWidgetCache);
+        when(context.get(HelpPrefabIndex.class)).thenReturn(helpPrefabIndex);
+        when(context.get(AssetManager.class)).thenReturn(assetManager);
+        CoreRegistry.setContext(context);
+        HelpRenderStyles.invalidateFonts();
+
+        screen = mock(InGameHelpScreen.class, withSettings().spiedInstance(new InGameHelpScreen())
+                .defaultAnswer(Answers.CALLS_REAL_METHODS).stubOnly());
+        stubScreenLayout(widget);
+        client = new InGameHelpClientSystem();
+        client.nuiManager = nuiManager();
+        client.inputSystem = mock(InputSystem.class);
+        client.localPlayer = mock(LocalPlayer.class, withSettings().stubOnly());
+        clientEntity = mock(EntityRef.class, withSettings().stubOnly());
+        when(client.localPlayer.getCharacterEntity()).thenReturn(mock(EntityRef.class, withSettings().stubOnly()));
+        when(client.localPlayer.getClientEntity()).thenReturn(clientEntity);
+        client.categoryRegistry = categoryRegistry;
+        client.metrics = InGameHelpMetrics.NONE;
+        client.sandboxFileManager = mock(SandboxFileManager.class);
+        client.itemWidgetCache = itemWidgetCache;
+        client.worldProvider = mock(WorldProvider.class);
+        when(client.worldProvider.getSeed()).thenReturn("soak");
+        client.initialise();
+
+        // the world is loaded: the categories warm up in the background while the help screen is built
+        client.onLocalPlayerInitialized(mock(LocalPlayerInitializedEvent.class), clientEntity);
+        awaitWarmUp();
+        assertEquals(Iterables.size(categoryRegistry.getCategories()), categoryButtonListeners.size());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        if (client != null) {
+            client.shutdown();
+        }
+        if (buttonConstruction != null) {
+            buttonConstruction.close();
+        }
+        CoreRegistry.setContext(null);
+    }
+
+    @Test
+    public void testSoakWith50kPrefabs() {
+        for (int cycle = 1; cycle <= WARM_UP_CYCLES; cycle++) {
+            runCycle(cycle);
+        }
+        navigationTimes.clear();
+        categorySwitchTimes.clear();
+        searchTimes.clear();
+        changeCheckFrameTimes.clear();
+        idleFrameTimes.clear();
+
+        long heapBefore = HeapMeasurements.usedHeap();
+        long gcBefore = HeapMeasurements.gcNanos();
+        for (int cycle = WARM_UP_CYCLES + 1; cycle <= WARM_UP_CYCLES + CYCLES; cycle++) {
+            runCycle(cycle);
+        }
+        long gcTime = HeapMeasurements.gcNanos() - gcBefore;
+        long heapGrowth = HeapMeasurements.usedHeap() - heapBefore;
+
+        long[] navigation = sorted(navigationTimes);
+        long[] categorySwitch = sorted(categorySwitchTimes);
+        long[] search = sorted(searchTimes);
+        long[] changeCheckFrame = sorted(changeCheckFrameTimes);
+        long[] idleFrame = sorted(idleFrameTimes);
+        logger.info("Soak with {} prefabs over {} cycles: navigation p50 {} us, p99 {} us; category switch p50 {} us, "
+                        + "p99 {} us; search p50 {} us, p99 {} us; change check frame p50 {} us, p99 {} us; "
+                        + "idle frame p99 {} us; GC pauses {} ms; heap growth {} KiB",
+                ITEM_PREFABS + GENERAL_HELP_PREFABS, CYCLES,
+                micros(percentile(navigation, 50)), micros(percentile(navigation, 99)),
+                micros(percentile(categorySwitch, 50)), micros(percentile(categorySwitch, 99)),
+                micros(percentile(search, 50)), micros(percentile(search, 99)),
+                micros(percentile(changeCheckFrame, 50)), micros(percentile(changeCheckFrame, 99)),
+                micros(percentile(idleFrame, 99)), TimeUnit.NANOSECONDS.toMillis(gcTime), heapGrowth / 1024);
+
+        assertWithinBudget("navigation p50", percentile(navigation, 50), NAVIGATION_P50_BUDGET);
+        assertWithinBudget("navigation p99", percentile(navigation, 99), NAVIGATION_P99_BUDGET);
+        assertWithinBudget("category switch p99", percentile(categorySwitch, 99), CATEGORY_SWITCH_P99_BUDGET);
+        assertWithinBudget("search p50", percentile(search, 50), SEARCH_P50_BUDGET);
+        assertWithinBudget("change check frame p99", percentile(changeCheckFrame, 99), CHANGE_CHECK_FRAME_P99_BUDGET);
+        assertWithinBudget("idle frame p99", percentile(idleFrame, 99), IDLE_FRAME_P99_BUDGET);
+        assertTrue(heapGrowth < HEAP_GROWTH_BUDGET, "heap grew by " + heapGrowth + " bytes");
+        // the title font is resolved once through the asset manager, not for every document
+        verify(assetManager, times(1)).getAsset(TITLE_FONT_URN, Font.class);
+    }
+
+    /**
+     * Opens the help screen with the help button, follows hyperlinks to random help pages, clicks through all category
+     * buttons and searches, then reloads some prefabs and lets the background check pick up the changes. Finally the
+     * screen is closed again and the game runs some frames without it.
+     *
+     * @param cycle the number of the cycle, which makes the reloaded help text differ from all previous cycles
+     */
+    private void runCycle(int cycle) {
+        pressHelpButton();
+        assertTrue(screenOpen);
+
+        for (int i = 0; i < NAVIGATIONS_PER_CYCLE; i++) {
+            Prefab target = random.nextInt(10) == 0
+                    ? generalHelpPrefabs.get(random.nextInt(GENERAL_HELP_PREFABS))
+                    : itemPrefabs.get(random.nextInt(ITEM_PREFABS));
+            startTiming();
+            DocumentData document = navigate(target.getName());
+            navigationTimes.add(elapsedExcludingGc());
+            assertNotNull(document, target.getName());
+            // the browser resolves the title style for every text run it lays out
+            HelpRenderStyles.getTitleStyle().getFont(false);
+        }
+
+        for (ActivateEventListener categoryButton : categoryButtonListeners) {
+            shownDocument = null;
+            startTiming();
+            categoryButton.onActivated(null);
+            screen.update(0f);
+            categorySwitchTimes.add(elapsedExcludingGc());
+        }
+
+        int reloadedIndex = random.nextInt(ITEM_PREFABS);
+        Prefab reloadedItem = itemPrefabs.get(reloadedIndex);
+        DocumentData documentBeforeReload = navigate(reloadedItem.getName());
+        TestPrefabs.reload(reloadedItem, itemHelp(reloadedIndex, cycle),
+                reloadedItem.getComponent(DisplayNameComponent.class));
+        for (int i = 1; i < RELOADS_PER_CYCLE; i++) {
+            Prefab prefab;
+            if (i % 10 == 0) {
+                int index = random.nextInt(GENERAL_HELP_PREFABS);
+                prefab = generalHelpPrefabs.get(index);
+                TestPrefabs.reload(prefab, generalHelp(index, cycle));
+            } else {
+                int index = random.nextInt(ITEM_PREFABS);
+                prefab = itemPrefabs.get(index);
+                TestPrefabs.reload(prefab, itemHelp(index, cycle), prefab.getComponent(DisplayNameComponent.class));
+            }
+        }
+        runChangeCheck();
+        assertNotSame(documentBeforeReload, navigate(reloadedItem.getName()),
+                "the help of a reloaded item was not rebuilt");
+
+        for (int i = 0; i < SEARCHES_PER_CYCLE; i++) {
+            search(i % 2 == 0 ? "stone" : "topic " + random.nextInt(GENERAL_HELP_PREFABS));
+            assertNotNull(shownDocument);
+        }
+        search("");
+
+        pressHelpButton();
+        assertFalse(screenOpen);
+        int revision = helpPrefabIndex.getRevision();
+        TestPrefabs.reload(reloadedItem, itemHelp(reloadedIndex, -cycle),
+                reloadedItem.getComponent(DisplayNameComponent.class));
+        for (int frame = 0; frame < IDLE_FRAMES_PER_CYCLE; frame++) {
+            startTiming();
+            helpPrefabIndex.update(HelpPrefabIndexSystem.CHANGE_CHECK_INTERVAL);
+            client.update(HelpPrefabIndexSystem.CHANGE_CHECK_INTERVAL);
+            idleFrameTimes.add(elapsedExcludingGc());
+        }
+        assertEquals(revision, helpPrefabIndex.getRevision(), "prefabs were checked while the help was closed");
+    }
+
+    /**
+     * Follows a hyperlink from outside the help screen, e.g., from an item tooltip.
+     *
+     * @param hyperlink the hyperlink to follow
+     * @return the document shown
+     */
+    private DocumentData navigate(String hyperlink) {
+        shownDocument = null;
+        client.showHelpForHyperlink(hyperlink);
+        return shownDocument;
+    }
+
+    /**
+     * Types a query into the search box and lets the screen update.
+     *
+     * @param query the query to type
+     */
+    private void search(String query) {
+        searchText.setLength(0);
+        searchText.append(query);
+        shownDocument = null;
+        startTiming();
+        screen.update(0f);
+        if (!query.isEmpty()) {
+            searchTimes.add(elapsedExcludingGc());
+        }
+    }
+
+    private void pressHelpButton() {
+        InGameHelpButton event = mock(InGameHelpButton.class, withSettings().stubOnly());
+        when(event.getState()).thenReturn(ButtonState.DOWN);
+        client.onInGameHelpButton(event, clientEntity);
+    }
+
+    /**
+     * Lets the background check for changed prefabs start and run to completion, one frame at a time.
+     */
+    private void runChangeCheck() {
+        int revision = helpPrefabIndex.getRevision();
+        // every prefab is both listed by the prefab manager and indexed, and the check goes through both
+        int checkedPrefabs = 2 * (ITEM_PREFABS + GENERAL_HELP_PREFABS);
+        int maxFrames = (checkedPrefabs + HelpPrefabIndexSystem.CHANGE_CHECK_BATCH_SIZE - 1)
+                / HelpPrefabIndexSystem.CHANGE_CHECK_BATCH_SIZE;
+        for (int frame = 0; frame < maxFrames && helpPrefabIndex.getRevision() == revision; frame++) {
+            startTiming();
+            helpPrefabIndex.update(frame == 0 ? HelpPrefabIndexSystem.CHANGE_CHECK_INTERVAL : 0f);
+            screen.update(0f);
+            changeCheckFrameTimes.add(elapsedExcludingGc());
+        }
+        assertTrue(helpPrefabIndex.getRevision() > revision,
+                "the change check did not finish in " + maxFrames + " frames");
+    }
+
+    /**
+     * @return a NUI manager that creates the help screen stand-in and tracks whether it is open
+     */
+    private NUIManager nuiManager() {
+        NUIManager nuiManager = mock(NUIManager.class,
+                withSettings().defaultAnswer(Answers.RETURNS_DEEP_STUBS).stubOnly());
+        doAnswer(invocation -> {
+            screen.initialise();
+            return screen;
+        }).when(nuiManager).createScreen(SCREEN_URI, InGameHelpScreen.class);
+        doAnswer(invocation -> {
+            assertSame(screen, invocation.getArgument(0));
+            screenOpen = true;
+            screen.onOpened();
+            return null;
+        }).when(nuiManager).pushScreen(any());
+        doAnswer(invocation -> {
+            screenOpen = false;
+            screen.onClosed();
+            return null;
+        }).when(nuiManager).closeScreen(SCREEN_URI);
+        doAnswer(invocation -> screenOpen).when(nuiManager).isOpen(SCREEN_URI);
+        doReturn(screen).when(nuiManager).getScreen(SCREEN_URI);
+        return nuiManager;
+    }
+
+    /**
+     * Stands in for the widgets of the screen layout. The browser remembers the document it was asked to show, the
+     * search box answers the typed query, and the listeners of the category buttons are kept to click them.
+     *
+     * @param widget the widget shown for every item
+     */
+    private void stubScreenLayout(ItemWidget widget) {
+        BrowserWidget browser = mock(BrowserWidget.class, withSettings().stubOnly());
+        doAnswer(invocation -> {
+            shownDocument = invocation.getArgument(0);
+            return null;
+        }).when(browser).navigateTo(any());
+        UIText searchBox = mock(UIText.class, withSettings().stubOnly());
+        when(searchBox.getText()).thenAnswer(invocation -> searchText.toString());
+
+        doReturn(null).when(screen).find(anyString(), any());
+        doReturn(browser).when(screen).find("browser", BrowserWidget.class);
+        doReturn(searchBox).when(screen).find("searchBox", UIText.class);
+        FlowLayout categoryButtons = mock(FlowLayout.class, withSettings().stubOnly());
+        doReturn(categoryButtons).when(screen).find("categoryButtons", FlowLayout.class);
+        doReturn(new VirtualItemGrid()).when(screen).find("itemGrid", VirtualItemGrid.class);
+
+        buttonConstruction = mockConstruction(UIButton.class, (button, context) ->
+                doAnswer(invocation -> categoryButtonListeners.add(invocation.getArgument(0)))
+                        .when(button).subscribe(any()));
+    }
+
+    private void awaitWarmUp() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + WARM_UP_TIMEOUT;
+        for (HelpCategory category : categoryRegistry.getCategories()) {
+            while (category instanceof WarmUpHelpCategory && ((WarmUpHelpCategory) category).isWarmingUp()) {
+                assertTrue(System.currentTimeMillis() < deadline, category.getCategoryName() + " did not warm up");
+                Thread.sleep(10);
+            }
+        }
+    }
+
+    private static ItemHelpComponent itemHelp(int i, int cycle) {
+        ItemHelpComponent itemHelp = new ItemHelpComponent();
+        itemHelp.paragraphText.add("Item number " + i + " is made of <b>stone</b>.");
+        itemHelp.paragraphText.add("Revised in cycle " + cycle + ".");
+        return itemHelp;
+    }
+
+    private static DisplayNameComponent displayName(int i) {
+        DisplayNameComponent displayName = new DisplayNameComponent();
+        displayName.name = "Item " + Integer.toHexString(i * 0x9E3779B9);
+        return displayName;
+    }
+
+    private static GeneralHelpComponent generalHelp(int i, int cycle) {
+        GeneralHelpComponent generalHelp = new GeneralHelpComponent();
+        generalHelp.title = "Topic " + i;
+        generalHelp.paragraphText.add("General help topic " + i + ", revised in cycle " + cycle + ".");
+        return generalHelp;
+    }
+
+    private void startTiming() {
+        timingStartGc = HeapMeasurements.gcNanos();
+        timingStart = System.nanoTime();
+    }
+
+    /**
+     * @return the time since {@link #startTiming()}, without the time spent in garbage collection
+     */
+    private long elapsedExcludingGc() {
+        long elapsed = System.nanoTime() - timingStart;
+        return Math.max(elapsed - (HeapMeasurements.gcNanos() - timingStartGc), 0);
+    }
+
+    private static void assertWithinBudget(String measure, long nanos, long budget) {
+        assertTrue(nanos <= budget,
+                measure + " took " + micros(nanos) + " us, the budget is " + micros(budget) + " us");
+    }
+
+    private static long[] sorted(List<Long> times) {
+        long[] sorted = times.stream().mapToLong(Long::longValue).toArray();
+        Arrays.sort(sorted);
+        return sorted;
+    }
+
+    /**
+     * @param sorted the measured times in ascending order
+     * @param percentile the percentile to find, from 1 to 100
+     * @return the smallest time that at least the given percentage of the measured times do not exceed
+     */
+    private static long percentile(long[] sorted, int percentile) {
+        int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+        return sorted[Math.max(rank - 1, 0)];
+    }
+
+    private static long micros(long nanos) {
+        return TimeUnit.NANOSECONDS.toMicros(nanos);
+    }
+}
@@ -0,0 +1,209 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.inGameHelp.systems;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.terasology.engine.entitySystem.entity.EntityRef;
+import org.terasology.engine.entitySystem.prefab.Prefab;
+import org.terasology.inGameHelp.HelpPrefabIndex;
+import org.terasology.inGameHelp.HyperlinkPrefixHelpCategory;
+import org.terasology.inGameHelp.TestPrefabs;
+import org.terasology.inGameHelp.components.GeneralHelpComponent;
+import org.terasology.inGameHelpAPI.components.ItemHelpComponent;
+import org.terasology.inGameHelpAPI.event.OnAddNewCategoryEvent;
+import org.terasology.inGameHelpAPI.systems.HelpCategory;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+public class InGameHelpCommonSystemTest {
+    private InGameHelpCommonSystem system;
+    private HelpPrefabIndex helpPrefabIndex;
+    private ItemsCategoryInGameHelpCommonSystem itemsRegistry;
+    private HelpCategory items;
+    private HelpCategory general;
+    private HelpCategory guides;
+
+    @BeforeEach
+    public void setUp() {
+        helpPrefabIndex = mock(HelpPrefabIndex.class);
+        when(helpPrefabIndex.getPrefab(anyString())).thenReturn(Optional.empty());
+        itemsRegistry = new ItemsCategoryInGameHelpCommonSystem();
+
+        system = new InGameHelpCommonSystem();
+        system.helpPrefabIndex = helpPrefabIndex;
+        system.itemsCategoryInGameHelpRegistry = itemsRegistry;
+        items = category("Items");
+        general = category("General");
+        guides = category("Guides");
+        system.registerCategories(ImmutableList.of(items, general, guides));
+    }
+
+    @Test
+    public void testEmptySnapshot() {
+        InGameHelpCommonSystem.Snapshot empty = InGameHelpCommonSystem.Snapshot.EMPTY;
+
+        assertTrue(empty.categories.isEmpty());
+        assertTrue(empty.categoriesByName.isEmpty());
+        assertTrue(empty.hyperlinkRoutes.isEmpty());
+        assertEquals(0, empty.revision);
+    }
+
+    @Test
+    public void testSnapshotWithCategories() {
+        InGameHelpCommonSystem.Snapshot empty = InGameHelpCommonSystem.Snapshot.EMPTY;
+        HelpCategory duplicate = category("items");
+
+        InGameHelpCommonSystem.Snapshot first = empty.withCategories(ImmutableList.of(items, general));
+        InGameHelpCommonSystem.Snapshot second = first.withCategories(ImmutableList.of(duplicate));
+
+        assertTrue(empty.categories.isEmpty());
+        assertEquals(ImmutableList.of(items, general), first.categories);
+        assertEquals(1, first.revision);
+        assertEquals(ImmutableList.of(items, general, duplicate), second.categories);
+        assertSame(items, second.categoriesByName.get("items"));
+        assertEquals(2, second.revision);
+    }
+
+    @Test
+    public void testSnapshotWithRoute() {
+        InGameHelpCommonSystem.Snapshot categories =
+                InGameHelpCommonSystem.Snapshot.EMPTY.withCategories(ImmutableList.of(items, guides));
+
+        InGameHelpCommonSystem.Snapshot routed = categories.withRoute("guide:", items);
+        InGameHelpCommonSystem.Snapshot rerouted = routed.withRoute("guide:", guides);
+
+        assertTrue(categories.hyperlinkRoutes.isEmpty());
+        assertSame(items, routed.hyperlinkRoutes.get("guide:"));
+        assertSame(guides, rerouted.hyperlinkRoutes.get("guide:"));
+        assertEquals(1, rerouted.hyperlinkRoutes.size());
+        assertEquals(categories.revision, rerouted.revision);
+        assertSame(categories.categories, rerouted.categories);
+    }
+
+    @Test
+    public void testCategoriesAreFoundIgnoringCase() {
+        assertSame(guides, system.getCategory("GUIDES").get());
+        assertFalse(system.getCategory("Missing").isPresent());
+        assertEquals(1, system.getRevision());
+    }
+
+    @Test
+    public void testLongestPrefixWins() {
+        system.registerHyperlinkPrefix("guide:", general);
+        system.registerHyperlinkPrefix("guide:crafting/", guides);
+
+        assertSame(guides, system.getCategoryForHyperlink("guide:crafting/tools").get());
+        assertSame(general, system.getCategoryForHyperlink("guide:mining").get());
+        assertSame(general, system.getCategoryForHyperlink("guide:").get());
+    }
+
+    @Test
+    public void testShorterPrefixWinsWhenLongerPrefixOnlySharesPart() {
+        system.registerHyperlinkPrefix("guide:", general);
+        system.registerHyperlinkPrefix("guide:crafting/", guides);
+        system.registerHyperlinkPrefix("guide:crafting/tools/", items);
+        system.registerHyperlinkPrefix("guide:craftingz", items);
+
+        // sorts after "guide:crafting/tools/" and between the other routes, but only starts with "guide:crafting/"
+        assertSame(guides, system.getCategoryForHyperlink("guide:crafting/torch").get());
+        // sorts after "guide:crafting/", but only starts with "guide:"
+        assertSame(general, system.getCategoryForHyperlink("guide:craftingbook").get());
+        assertSame(general, system.getCategoryForHyperlink("guide:crafting").get());
+    }
+
+    @Test
+    public void testHyperlinkWithoutRouteOrPrefabIsNotRouted() {
+        system.registerHyperlinkPrefix("guide:", guides);
+
+        assertFalse(system.getCategoryForHyperlink("guid").isPresent());
+        assertFalse(system.getCategoryForHyperlink("guidebook:page").isPresent());
+        assertFalse(system.getCategoryForHyperlink("Test:unknown").isPresent());
+    }
+
+    @Test
+    public void testPrefabsAreRoutedByTheirHelpComponent() {
+        ItemHelpComponent guideItemHelp = new ItemHelpComponent();
+        guideItemHelp.category = "Guides";
+        indexed(TestPrefabs.prefab("Test:stone", new ItemHelpComponent()));
+        indexed(TestPrefabs.prefab("Test:book", guideItemHelp));
+        indexed(TestPrefabs.prefab("Test:basics", new GeneralHelpComponent()));
+
+        assertSame(items, system.getCategoryForHyperlink("Test:stone").get());
+        assertSame(guides, system.getCategoryForHyperlink("Test:book").get());
+        assertSame(general, system.getCategoryForHyperlink("Test:basics").get());
+    }
+
+    @Test
+    public void testKnownPrefabsWithoutItemHelpBelongToItems() {
+        Prefab registered = TestPrefabs.prefab("Test:registered");
+        itemsRegistry.addKnownPrefab(registered);
+        indexed(registered);
+        indexed(TestPrefabs.prefab("Test:unregistered"));
+
+        assertSame(items, system.getCategoryForHyperlink("Test:registered").get());
+        assertFalse(system.getCategoryForHyperlink("Test:unregistered").isPresent());
+    }
+
+    @Test
+    public void testRouteWinsOverPrefab() {
+        indexed(TestPrefabs.prefab("Test:stone", new ItemHelpComponent()));
+
+        system.registerHyperlinkPrefix("Test:", guides);
+
+        assertSame(guides, system.getCategoryForHyperlink("Test:stone").get());
+    }
+
+    @Test
+    public void testPrefixesOfAddedCategoriesAreRouted() {
+        HelpCategory manual = prefixCategory("Manual", "manual:");
+        OnAddNewCategoryEvent event = mock(OnAddNewCategoryEvent.class);
+        when(event.getCategory()).thenReturn(manual);
+
+        system.addCategory(event, mock(EntityRef.class));
+
+        assertSame(manual, system.getCategoryForHyperlink("manual:chapter1").get());
+        assertSame(manual, system.getCategory("manual").get());
+        assertEquals(2, system.getRevision());
+    }
+
+    @Test
+    public void testPrefixesOfRegisteredCategoriesReplaceRoutes() {
+        system.registerHyperlinkPrefix("guide:", guides);
+        HelpCategory manual = prefixCategory("Manual", "guide:", "manual:");
+
+        system.registerCategory(manual);
+
+        assertSame(manual, system.getCategoryForHyperlink("guide:mining").get());
+        assertSame(manual, system.getCategoryForHyperlink("manual:").get());
+    }
+
+    private void indexed(Prefab prefab) {
+        when(helpPrefabIndex.getPrefab(prefab.getName())).thenReturn(Optional.of(prefab));
+    }
+
+    private static HelpCategory category(String name) {
+        HelpCategory category = mock(HelpCategory.class);
+        when(category.getCategoryName()).thenReturn(name);
+        return category;
+    }
+
+    private static HelpCategory prefixCategory(String name, String... prefixes) {
+        HelpCategory category =
+                mock(HelpCategory.class, withSettings().extraInterfaces(HyperlinkPrefixHelpCategory.class));
+        when(category.getCategoryName()).thenReturn(name);
+        when(((HyperlinkPrefixHelpCategory) category).getHyperlinkPrefixes())
+                .thenReturn(ImmutableList.copyOf(prefixes));
+        return category;
+    }
+}
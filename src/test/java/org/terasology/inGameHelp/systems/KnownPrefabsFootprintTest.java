@@ -0,0 +1,91 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.inGameHelp.systems;
+
+import com.google.common.collect.HashMultimap;
+import com.google.common.collect.Multimap;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.terasology.engine.entitySystem.prefab.Prefab;
+import org.terasology.inGameHelp.HeapMeasurements;
+import org.terasology.inGameHelp.TestPrefabs;
+import org.terasology.inGameHelpAPI.components.HelpItem;
+
+import java.lang.ref.Reference;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Measures the heap used by the known prefabs of {@link ItemsCategoryInGameHelpCommonSystem}, compared to the
+ * {@code HashMultimap} with a {@code null} sentinel per prefab it replaced.
+ * <p>
+ * The footprint is the difference in used heap before and after building each structure, with the prefabs created
+ * beforehand so only the structure itself is measured. Heap deltas depend on the garbage collector, so the numbers are
+ * only logged. The test asserts what makes the storage compact: prefabs without help items share one empty list.
+ */
+public class KnownPrefabsFootprintTest {
+    private static final Logger logger = LoggerFactory.getLogger(KnownPrefabsFootprintTest.class);
+
+    @Test
+    public void testFootprintWith10kPrefabs() {
+        measureFootprint(10_000);
+    }
+
+    @Test
+    public void testFootprintWith100kPrefabs() {
+        measureFootprint(100_000);
+    }
+
+    private void measureFootprint(int prefabCount) {
+        List<Prefab> prefabs = IntStream.range(0, prefabCount)
+                .mapToObj(i -> TestPrefabs.prefab("Test:item" + i))
+                .collect(Collectors.toList());
+
+        long multimapBytes = measureRetainedBytes(() -> {
+            // the storage before the change: a sentinel value registers the prefab as a key
+            Multimap<Prefab, HelpItem> knownPrefabs = HashMultimap.create();
+            for (Prefab prefab : prefabs) {
+                knownPrefabs.put(prefab, null);
+            }
+            return knownPrefabs;
+        });
+        ItemsCategoryInGameHelpCommonSystem system = new ItemsCategoryInGameHelpCommonSystem();
+        long compactBytes = measureRetainedBytes(() -> {
+            for (Prefab prefab : prefabs) {
+                system.addKnownPrefab(prefab);
+            }
+            return system;
+        });
+
+        logger.info("Known prefabs footprint for {} prefabs: sentinel multimap {} KiB ({} B/prefab), "
+                        + "compact map {} KiB ({} B/prefab)",
+                prefabCount, multimapBytes / 1024, multimapBytes / prefabCount,
+                compactBytes / 1024, compactBytes / prefabCount);
+
+        assertEquals(prefabCount, system.knownPrefabs.size());
+        List<HelpItem> empty = system.knownPrefabs.get(prefabs.get(0));
+        assertTrue(empty.isEmpty());
+        for (Prefab prefab : prefabs) {
+            assertSame(empty, system.knownPrefabs.get(prefab), "prefabs without help items must share one list");
+        }
+    }
+
+    /**
+     * @param builder builds the structure to measure
+     * @return the growth of the used heap while the built structure is reachable
+     */
+    private static long measureRetainedBytes(Supplier<Object> builder) {
+        long before = HeapMeasurements.usedHeap();
+        Object structure = builder.get();
+        long after = HeapMeasurements.usedHeap();
+        Reference.reachabilityFence(structure);
+        return after - before;
+    }
+}
@@ -0,0 +1,74 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.inGameHelp.systems;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.terasology.engine.core.module.SandboxFileManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.NoSuchFileException;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class OnboardingStoreTest {
+    private static final String FILE_NAME = "inGameHelp.properties";
+
+    private SandboxFileManager sandboxFileManager;
+    private byte[] storedFile;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        sandboxFileManager = mock(SandboxFileManager.class);
+        doAnswer(invocation -> {
+            if (storedFile == null) {
+                throw new NoSuchFileException(FILE_NAME);
+            }
+            Consumer<InputStream> consumer = invocation.getArgument(1);
+            consumer.accept(new ByteArrayInputStream(storedFile));
+            return null;
+        }).when(sandboxFileManager).readFile(eq(FILE_NAME), any());
+        doAnswer(invocation -> {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            Consumer<OutputStream> consumer = invocation.getArgument(1);
+            consumer.accept(out);
+            storedFile = out.toByteArray();
+            return null;
+        }).when(sandboxFileManager).writeFile(eq(FILE_NAME), any());
+    }
+
+    @Test
+    public void testStateIsKeptPerWorld() {
+        OnboardingStore store = new OnboardingStore(sandboxFileManager, FILE_NAME);
+        assertFalse(store.hasBeenHelped("world1"));
+
+        store.setHasBeenHelped("world1");
+
+        assertTrue(store.hasBeenHelped("world1"));
+        assertFalse(store.hasBeenHelped("world2"));
+    }
+
+    @Test
+    public void testStateIsReadBackFromTheSandbox() throws Exception {
+        new OnboardingStore(sandboxFileManager, FILE_NAME).setHasBeenHelped("world1");
+
+        OnboardingStore store = new OnboardingStore(sandboxFileManager, FILE_NAME);
+        store.setHasBeenHelped("world1");
+
+        assertTrue(store.hasBeenHelped("world1"));
+        assertFalse(store.hasBeenHelped("world2"));
+        // the state did not change, so the file was only written once
+        verify(sandboxFileManager, times(1)).writeFile(eq(FILE_NAME), any());
+    }
+}
@@ -0,0 +1,73 @@
+// Copyright 2021 The Terasology Foundation
+// SPDX-License-Identifier: Apache-2.0
+package org.terasology.inGameHelp.ui;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class NavigationHistoryTest {
+    @Test
+    public void testEmptyHistoryHasNoPages() {
+        NavigationHistory history = new NavigationHistory(4);
+
+        assertNull(history.current());
+        assertNull(history.back());
+        assertNull(history.forward());
+    }
+
+    @Test
+    public void testBackAndForward() {
+        NavigationHistory history = new NavigationHistory(4);
+        NavigationHistory.Page first = page("first");
+        NavigationHistory.Page second = page("second");
+        NavigationHistory.Page third = page("third");
+        history.visit(first);
+        history.visit(second);
+        history.visit(third);
+
+        assertSame(second, history.back());
+        assertSame(first, history.back());
+        assertNull(history.back());
+        assertSame(first, history.current());
+        assertSame(second, history.forward());
+        assertSame(third, history.forward());
+        assertNull(history.forward());
+        assertSame(third, history.current());
+    }
+
+    @Test
+    public void testVisitDropsForwardPages() {
+        NavigationHistory history = new NavigationHistory(4);
+        NavigationHistory.Page first = page("first");
+        NavigationHistory.Page other = page("other");
+        history.visit(first);
+        history.visit(page("second"));
+        history.back();
+
+        history.visit(other);
+
+        assertNull(history.forward());
+        assertSame(first, history.back());
+        assertSame(other, history.forward());
+    }
+
+    @Test
+    public void testOldestPagesAreDroppedWhenFull() {
+        NavigationHistory history = new NavigationHistory(2);
+        history.visit(page("first"));
+        NavigationHistory.Page second = page("second");
+        NavigationHistory.Page third = page("third");
+        history.visit(second);
+        history.visit(third);
+
+        assertSame(third, history.current());
+        assertSame(second, history.back());
+        assertNull(history.back());
+    }
+
+    private static NavigationHistory.Page page(String hyperlink) {
+        return new NavigationHistory.Page(null, hyperlink);
+    }
+}